@@ -0,0 +1,106 @@
+package com.AddressBookAppMain.AddressBook.Benchmarks;
+
+import com.AddressBookAppMain.AddressBook.Entity.AddressBook;
+import com.AddressBookAppMain.AddressBook.Repository.AddressBookRepository;
+import com.AddressBookAppMain.AddressBook.Security.AddressBookRedisSerializer;
+import com.AddressBookAppMain.AddressBook.Services.AddressBookService;
+import com.AddressBookAppMain.AddressBook.Services.CacheStampedeGuard;
+import com.AddressBookAppMain.AddressBook.Services.ContactCacheMetrics;
+import com.AddressBookAppMain.AddressBook.Services.ContactNearCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AddressBookService.getContactById for each tier that can answer it:
+ * NEAR_CACHE (in-JVM hit), REDIS (near miss, Redis hit) and DATABASE (miss everywhere, load and fill).
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AddressBookServiceBenchmark {
+
+    private static final int CONTACTS = 1_000;
+
+    @Param({"NEAR_CACHE", "REDIS", "DATABASE"})
+    private String tier;
+
+    private AddressBookService service;
+
+    @Setup
+    public void setUp() {
+        Map<Integer, AddressBook> table = new HashMap<>();
+        for (int id = 1; id <= CONTACTS; id++) {
+            table.put(id, BenchmarkSupport.contact(id));
+        }
+        AddressBookRepository repository = (AddressBookRepository) Proxy.newProxyInstance(
+                getClass().getClassLoader(),
+                new Class<?>[]{AddressBookRepository.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("findById")) {
+                        return Optional.ofNullable(table.get((Integer) args[0]));
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+
+        RedisTemplate<String, AddressBook> redis = BenchmarkSupport.inProcessRedis(new AddressBookRedisSerializer(), !tier.equals("DATABASE"));
+        ContactNearCache nearCache = tier.equals("NEAR_CACHE")
+                ? new ContactNearCache(null, CONTACTS, Duration.ofHours(1))
+                : new DisabledNearCache();
+
+        service = new AddressBookService();
+        BenchmarkSupport.inject(service, "addressBookRepository", repository);
+        BenchmarkSupport.inject(service, "redisTemplate", redis);
+        BenchmarkSupport.inject(service, "contactNearCache", nearCache);
+        BenchmarkSupport.inject(service, "cacheMetrics", new ContactCacheMetrics(new SimpleMeterRegistry()));
+        // Single node: misses are coalesced in-process, no Redis lease
+        BenchmarkSupport.inject(service, "stampedeGuard",
+                new CacheStampedeGuard(null, new SimpleMeterRegistry(), Duration.ZERO, Duration.ofSeconds(1), 1.0));
+
+        // Warm whichever cache tier is under test
+        for (int id = 1; id <= CONTACTS; id++) {
+            service.getContactById(id);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        private int next;
+
+        int nextId() {
+            next = next == CONTACTS ? 1 : next + 1;
+            return next;
+        }
+    }
+
+    @Benchmark
+    public Optional<AddressBook> getContactById(Cursor cursor) {
+        return service.getContactById(cursor.nextId());
+    }
+
+    // Always misses, so every lookup falls through to Redis
+    static final class DisabledNearCache extends ContactNearCache {
+        DisabledNearCache() {
+            super(null, 1, Duration.ofSeconds(1));
+        }
+
+        @Override
+        public AddressBook get(int id) {
+            return null;
+        }
+
+        @Override
+        public void put(AddressBook contact) {
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.AddressBookAppMain.AddressBook.Benchmarks;
+
+import com.AddressBookAppMain.AddressBook.Entity.AddressBook;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Stand-ins for the infrastructure behind the services, so benchmarks measure our code and the
+ * codecs rather than a network hop.
+ */
+final class BenchmarkSupport {
+
+    // Far from expiry, so early refresh never kicks in during a run
+    private static final long CACHED_TTL_MILLIS = 600_000L;
+
+    private BenchmarkSupport() {
+    }
+
+    /**
+     * RedisTemplate whose value operations live in a map of serialized bytes. Values still go
+     * through the real serializer on every get/set. With keepWrites=false every get misses.
+     */
+    @SuppressWarnings("unchecked")
+    static <V> RedisTemplate<String, V> inProcessRedis(RedisSerializer<V> serializer, boolean keepWrites) {
+        Map<String, byte[]> store = new ConcurrentHashMap<>();
+        ValueOperations<String, V> values = (ValueOperations<String, V>) Proxy.newProxyInstance(
+                BenchmarkSupport.class.getClassLoader(),
+                new Class<?>[]{ValueOperations.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "get":
+                            byte[] bytes = store.get((String) args[0]);
+                            return bytes == null ? null : serializer.deserialize(bytes);
+                        case "set":
+                            byte[] encoded = serializer.serialize((V) args[1]);
+                            if (keepWrites) {
+                                store.put((String) args[0], encoded);
+                            }
+                            return null;
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+
+        return new RedisTemplate<>() {
+            @Override
+            public ValueOperations<String, V> opsForValue() {
+                return values;
+            }
+
+            // The only script on the read path is get_with_ttl.lua: GET plus PTTL
+            @Override
+            public <T> T execute(RedisScript<T> script, RedisSerializer<?> argsSerializer, RedisSerializer<T> resultSerializer,
+                                 List<String> keys, Object... args) {
+                V value = values.get(keys.get(0));
+                return (T) (value == null ? List.of(-2L) : List.of(CACHED_TTL_MILLIS, value));
+            }
+
+            @Override
+            public Long convertAndSend(String channel, Object message) {
+                return 0L;
+            }
+        };
+    }
+
+    // The services use field injection; set the collaborators the way Spring would
+    static void inject(Object target, String fieldName, Object value) {
+        try {
+            Field field = target.getClass().getDeclaredField(fieldName);
+            field.setAccessible(true);
+            field.set(target, value);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot inject " + fieldName + " into " + target.getClass().getSimpleName(), e);
+        }
+    }
+
+    static AddressBook contact(int id) {
+        AddressBook contact = new AddressBook();
+        contact.setId(id);
+        contact.setName("Contact Number " + id);
+        contact.setPhone(String.format("98%08d", id));
+        contact.setAddress(id + " MG Road, Pune, Maharashtra 411001");
+        return contact;
+    }
+}
@@ -0,0 +1,58 @@
+package com.AddressBookAppMain.AddressBook.Benchmarks;
+
+import com.AddressBookAppMain.AddressBook.Security.JwtUtil;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token issue and verification. Redis is in-process, so these numbers are the HMAC, JSON and
+ * local cache cost of each call.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtUtilBenchmark {
+
+    private static final String EMAIL = "benchmark.user@example.com";
+
+    private JwtUtil jwtUtil;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JwtUtil();
+        BenchmarkSupport.inject(jwtUtil, "secretKey", "benchmark-secret-key-benchmark-secret-key");
+        BenchmarkSupport.inject(jwtUtil, "expirationTime", TimeUnit.HOURS.toMillis(1));
+        BenchmarkSupport.inject(jwtUtil, "verifiedCacheMaxSize", 100_000L);
+        BenchmarkSupport.inject(jwtUtil, "verifiedCacheMaxTtl", Duration.ofMinutes(5));
+        BenchmarkSupport.inject(jwtUtil, "redisTemplate", BenchmarkSupport.inProcessRedis(RedisSerializer.string(), true));
+        BenchmarkSupport.inject(jwtUtil, "meterRegistry", new SimpleMeterRegistry());
+        jwtUtil.init();
+        token = jwtUtil.generateToken(EMAIL);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken(EMAIL);
+    }
+
+    @Benchmark
+    public String getEmailFromToken() {
+        return jwtUtil.getEmailFromToken(token);
+    }
+
+    // Steady-state authenticated request, answered from the verified-token cache.
+    // Each benchmark method gets its own trial, so generateToken never revokes this token mid-run.
+    @Benchmark
+    @Threads(4)
+    public boolean isTokenValid() {
+        return jwtUtil.isTokenValid(EMAIL, token);
+    }
+}
@@ -0,0 +1,84 @@
+package com.AddressBookAppMain.AddressBook.Benchmarks;
+
+import com.AddressBookAppMain.AddressBook.Entity.AddressBook;
+import com.AddressBookAppMain.AddressBook.Security.AddressBookRedisSerializer;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Contact codecs for Redis: the JSON serializer we used to wire into redisTemplate against the
+ * binary AddressBookRedisSerializer. The list benchmarks encode every contact of a list, the way
+ * the AddressBook:Index hash is filled. Payload sizes are printed once per trial.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RedisSerializerBenchmark {
+
+    @Param({"json", "binary"})
+    private String codec;
+
+    @Param({"10", "100", "1000"})
+    private int listSize;
+
+    private RedisSerializer<AddressBook> serializer;
+    private AddressBook contact;
+    private List<AddressBook> contacts;
+    private byte[] contactBytes;
+    private List<byte[]> contactsBytes;
+
+    @Setup
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public void setUp() {
+        serializer = codec.equals("binary")
+                ? new AddressBookRedisSerializer()
+                : (RedisSerializer) new GenericJackson2JsonRedisSerializer();
+        contact = BenchmarkSupport.contact(1);
+        contacts = new ArrayList<>(listSize);
+        contactsBytes = new ArrayList<>(listSize);
+        long totalBytes = 0;
+        for (int id = 1; id <= listSize; id++) {
+            AddressBook entry = BenchmarkSupport.contact(id);
+            byte[] encoded = serializer.serialize(entry);
+            contacts.add(entry);
+            contactsBytes.add(encoded);
+            totalBytes += encoded.length;
+        }
+        contactBytes = serializer.serialize(contact);
+        System.out.printf("%n%s: %d bytes per contact, %d bytes for %d contacts%n",
+                codec, contactBytes.length, totalBytes, listSize);
+    }
+
+    @Benchmark
+    public byte[] serializeContact() {
+        return serializer.serialize(contact);
+    }
+
+    @Benchmark
+    public AddressBook deserializeContact() {
+        return serializer.deserialize(contactBytes);
+    }
+
+    @Benchmark
+    public void serializeList(Blackhole blackhole) {
+        for (AddressBook entry : contacts) {
+            blackhole.consume(serializer.serialize(entry));
+        }
+    }
+
+    @Benchmark
+    public void deserializeList(Blackhole blackhole) {
+        for (byte[] entry : contactsBytes) {
+            blackhole.consume(serializer.deserialize(entry));
+        }
+    }
+}
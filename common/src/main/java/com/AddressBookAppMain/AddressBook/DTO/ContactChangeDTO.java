@@ -0,0 +1,17 @@
+package com.AddressBookAppMain.AddressBook.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// New state of a contact: the write-behind record RabbitMQConsumer flushes to MySQL, and the
+// search index change both apps broadcast on AddressBook:SearchIndex
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ContactChangeDTO {
+    private int id;
+    private String name;
+    private String phone;
+    private String address;
+}
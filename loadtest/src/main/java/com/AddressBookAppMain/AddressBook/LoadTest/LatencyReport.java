@@ -0,0 +1,75 @@
+package com.AddressBookAppMain.AddressBook.LoadTest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogWriter;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Prints the per-operation latency table, writes the raw histograms, and checks them against the
+ * loadtest.budget.* settings. For each operation it writes &lt;mix&gt;-&lt;operation&gt;.hlog (the
+ * HdrHistogram log) and .hgrm (the percentile distribution in ms, for the HdrHistogram plotter).
+ */
+final class LatencyReport {
+
+    private LatencyReport() {
+    }
+
+    // Returns one line per budget that was exceeded; empty when the run passed
+    static List<String> report(TrafficMix mix, Map<Operation, OpenModelDriver.OperationStats> results,
+                               LoadTestConfig config, Path outputDir) throws IOException {
+        Files.createDirectories(outputDir);
+        List<String> violations = new ArrayList<>();
+
+        System.out.printf("%n%-18s %9s %8s %10s %10s %10s %10s%n", "operation (" + mix.key + ")",
+                "requests", "errors", "p50 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (Map.Entry<Operation, OpenModelDriver.OperationStats> entry : results.entrySet()) {
+            Operation operation = entry.getKey();
+            OpenModelDriver.OperationStats stats = entry.getValue();
+            Histogram histogram = stats.latencyMicros;
+            double p50 = millis(histogram.getValueAtPercentile(50));
+            double p99 = millis(histogram.getValueAtPercentile(99));
+            double p999 = millis(histogram.getValueAtPercentile(99.9));
+
+            System.out.printf("%-18s %9d %8d %10.2f %10.2f %10.2f %10.2f%n", operation.key,
+                    stats.requests.sum(), stats.errors.sum(), p50, p99, p999, millis(histogram.getMaxValue()));
+            write(histogram, outputDir.resolve(mix.key + "-" + operation.key));
+
+            check(violations, operation, "p50", p50, config.budget(operation.key, "p50"));
+            check(violations, operation, "p99", p99, config.budget(operation.key, "p99"));
+            check(violations, operation, "p999", p999, config.budget(operation.key, "p999"));
+            check(violations, operation, "max-error-rate", stats.errorRate(), config.budget(operation.key, "max-error-rate"));
+        }
+        return violations;
+    }
+
+    private static void check(List<String> violations, Operation operation, String metric, double actual, double budget) {
+        if (actual > budget) {
+            violations.add(String.format("%s %s = %.4f exceeds budget %.4f", operation.key, metric, actual, budget));
+        }
+    }
+
+    private static void write(Histogram histogram, Path basePath) throws FileNotFoundException {
+        try (PrintStream log = new PrintStream(basePath + ".hlog")) {
+            HistogramLogWriter writer = new HistogramLogWriter(log);
+            writer.outputLogFormatVersion();
+            writer.outputStartTime(histogram.getStartTimeStamp());
+            writer.outputLegend();
+            writer.outputIntervalHistogram(histogram);
+        }
+        try (PrintStream distribution = new PrintStream(basePath + ".hgrm")) {
+            histogram.outputPercentileDistribution(distribution, 1000.0);
+        }
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+}
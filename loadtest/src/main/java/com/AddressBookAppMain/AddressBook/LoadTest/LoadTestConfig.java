@@ -0,0 +1,50 @@
+package com.AddressBookAppMain.AddressBook.LoadTest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Properties;
+
+// loadtest.properties from the classpath, with -D system properties taking precedence
+final class LoadTestConfig {
+
+    private final Properties properties;
+
+    private LoadTestConfig(Properties properties) {
+        this.properties = properties;
+    }
+
+    static LoadTestConfig load() throws IOException {
+        Properties properties = new Properties();
+        try (InputStream in = LoadTestConfig.class.getResourceAsStream("/loadtest.properties")) {
+            if (in != null) {
+                properties.load(in);
+            }
+        }
+        System.getProperties().stringPropertyNames().stream()
+                .filter(key -> key.startsWith("loadtest."))
+                .forEach(key -> properties.setProperty(key, System.getProperty(key)));
+        return new LoadTestConfig(properties);
+    }
+
+    String string(String key) {
+        String value = properties.getProperty(key);
+        if (value == null) {
+            throw new IllegalArgumentException("Missing load test setting " + key);
+        }
+        return value.trim();
+    }
+
+    int integer(String key) {
+        return Integer.parseInt(string(key));
+    }
+
+    boolean bool(String key) {
+        return Boolean.parseBoolean(string(key));
+    }
+
+    // Per-operation budget, falling back to loadtest.budget.default.<metric>
+    double budget(String operation, String metric) {
+        String value = properties.getProperty("loadtest.budget." + operation + "." + metric);
+        return Double.parseDouble(value != null ? value.trim() : string("loadtest.budget.default." + metric));
+    }
+}
@@ -0,0 +1,77 @@
+package com.AddressBookAppMain.AddressBook.LoadTest;
+
+import com.AddressBookAppMain.AddressBook.AddressBookApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Boots the app against in-process stand-ins, seeds it, drives one traffic mix at a fixed
+ * arrival rate and fails (exit code 1) when any operation exceeds its latency or error budget.
+ * Settings are in loadtest.properties and can be overridden with -D, e.g.
+ * <pre>
+ * mvn -f loadtest/pom.xml compile exec:java -Dloadtest.mix=login-storm -Dloadtest.rate=200
+ * </pre>
+ */
+public final class LoadTestHarness {
+
+    private LoadTestHarness() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.load();
+        TrafficMix mix = TrafficMix.fromKey(config.string("loadtest.mix"));
+        int rate = config.integer("loadtest.rate");
+        Path outputDir = Paths.get("target", "loadtest");
+
+        List<String> violations;
+        try (LocalStandIns standIns = LocalStandIns.start(!config.bool("loadtest.external-amqp"))) {
+            standIns.exportSystemProperties();
+            ConfigurableApplicationContext app = new SpringApplicationBuilder(AddressBookApplication.class)
+                    .profiles("loadtest")
+                    .run(args);
+            try {
+                int port = ((WebServerApplicationContext) app).getWebServer().getPort();
+                HttpClient client = HttpClient.newBuilder()
+                        .version(HttpClient.Version.HTTP_1_1)
+                        .connectTimeout(Duration.ofSeconds(5))
+                        .build();
+
+                System.out.printf("Seeding %s contacts and %s users...%n",
+                        config.string("loadtest.seed.contacts"), config.string("loadtest.seed.users"));
+                Workload workload = Workload.seed(client, URI.create("http://127.0.0.1:" + port),
+                        config.integer("loadtest.seed.contacts"), config.integer("loadtest.seed.users"));
+
+                OpenModelDriver driver = new OpenModelDriver(client, workload, mix, config.integer("loadtest.max-in-flight"));
+                System.out.printf("Warming up for %ss at %d req/s (%s)...%n", config.string("loadtest.warmup-seconds"), rate, mix.key);
+                driver.run(rate, Duration.ofSeconds(config.integer("loadtest.warmup-seconds")));
+
+                System.out.printf("Measuring for %ss at %d req/s (%s)...%n", config.string("loadtest.duration-seconds"), rate, mix.key);
+                Map<Operation, OpenModelDriver.OperationStats> results =
+                        driver.run(rate, Duration.ofSeconds(config.integer("loadtest.duration-seconds")));
+
+                violations = LatencyReport.report(mix, results, config, outputDir);
+                System.out.printf("%d emails reached the SMTP stand-in. Histograms written to %s%n",
+                        standIns.deliveredEmails(), outputDir.toAbsolutePath());
+            } finally {
+                app.close();
+            }
+        }
+
+        if (violations.isEmpty()) {
+            System.out.println("PASSED: all operations within budget");
+            System.exit(0);
+        }
+        System.out.println("FAILED:");
+        violations.forEach(violation -> System.out.println("  " + violation));
+        System.exit(1);
+    }
+}
@@ -0,0 +1,93 @@
+package com.AddressBookAppMain.AddressBook.LoadTest;
+
+import com.github.fppt.jedismock.RedisServer;
+import com.icegreen.greenmail.util.GreenMail;
+import com.icegreen.greenmail.util.ServerSetup;
+import org.apache.qpid.server.SystemLauncher;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * In-process replacements for the infrastructure around the app: a RESP-speaking Redis mock,
+ * a GreenMail SMTP server and a Qpid AMQP 0-9-1 broker. MySQL is replaced by H2 through
+ * application-loadtest.properties.
+ */
+final class LocalStandIns implements AutoCloseable {
+
+    private final RedisServer redis;
+    private final GreenMail smtp;
+    private final SystemLauncher amqp;
+    private final int amqpPort;
+
+    private LocalStandIns(RedisServer redis, GreenMail smtp, SystemLauncher amqp, int amqpPort) {
+        this.redis = redis;
+        this.smtp = smtp;
+        this.amqp = amqp;
+        this.amqpPort = amqpPort;
+    }
+
+    static LocalStandIns start(boolean embeddedAmqp) throws Exception {
+        RedisServer redis = RedisServer.newRedisServer(freePort());
+        redis.start();
+
+        GreenMail smtp = new GreenMail(new ServerSetup(freePort(), "127.0.0.1", ServerSetup.PROTOCOL_SMTP));
+        smtp.start();
+
+        SystemLauncher amqp = null;
+        int amqpPort = -1;
+        if (embeddedAmqp) {
+            amqpPort = freePort();
+            amqp = new SystemLauncher();
+            amqp.startup(brokerAttributes(amqpPort));
+        }
+        return new LocalStandIns(redis, smtp, amqp, amqpPort);
+    }
+
+    // System properties outrank application.properties, so the app picks these up
+    void exportSystemProperties() {
+        System.setProperty("spring.data.redis.host", redis.getHost());
+        System.setProperty("spring.data.redis.port", String.valueOf(redis.getBindPort()));
+        System.setProperty("spring.mail.port", String.valueOf(smtp.getSmtp().getPort()));
+        if (amqp != null) {
+            System.setProperty("spring.rabbitmq.host", "127.0.0.1");
+            System.setProperty("spring.rabbitmq.port", String.valueOf(amqpPort));
+        }
+    }
+
+    int deliveredEmails() {
+        return smtp.getReceivedMessages().length;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (amqp != null) {
+            amqp.shutdown();
+        }
+        smtp.stop();
+        redis.stop();
+    }
+
+    private static Map<String, Object> brokerAttributes(int port) throws IOException {
+        Map<String, Object> context = new HashMap<>();
+        context.put("qpid.amqp_port", port);
+        context.put("qpid.work_dir", Files.createTempDirectory("loadtest-qpid").toString());
+
+        Map<String, Object> attributes = new HashMap<>();
+        attributes.put("type", "Memory");
+        attributes.put("initialConfigurationLocation",
+                LocalStandIns.class.getResource("/qpid-config.json").toExternalForm());
+        attributes.put("startupLoggedToSystemOut", false);
+        attributes.put("context", context);
+        return attributes;
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.AddressBookAppMain.AddressBook.LoadTest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Starts requests on a fixed schedule (open model), independent of how fast earlier ones finish.
+ * Latency is measured from the time a request was scheduled to start, not from when it was
+ * actually sent. A stall in the app or in this generator therefore shows up as queueing time in
+ * every request it delayed. This avoids coordinated omission, which hides stalls from
+ * closed-loop tools.
+ */
+final class OpenModelDriver {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+    private static final Duration DRAIN_TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient client;
+    private final Workload workload;
+    private final TrafficMix mix;
+    private final int maxInFlight;
+    private final Random random = new Random(7);
+
+    OpenModelDriver(HttpClient client, Workload workload, TrafficMix mix, int maxInFlight) {
+        this.client = client;
+        this.workload = workload;
+        this.mix = mix;
+        this.maxInFlight = maxInFlight;
+    }
+
+    static final class OperationStats {
+        final Histogram latencyMicros = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+        final LongAdder requests = new LongAdder();
+        final LongAdder errors = new LongAdder();
+
+        double errorRate() {
+            long total = requests.sum();
+            return total == 0 ? 0 : (double) errors.sum() / total;
+        }
+    }
+
+    Map<Operation, OperationStats> run(int ratePerSecond, Duration duration) throws InterruptedException {
+        Map<Operation, OperationStats> stats = new EnumMap<>(Operation.class);
+        for (Operation operation : mix.operations()) {
+            stats.put(operation, new OperationStats());
+        }
+        AtomicInteger inFlight = new AtomicInteger();
+        double intervalNanos = TimeUnit.SECONDS.toNanos(1) / (double) ratePerSecond;
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        long wallStart = System.currentTimeMillis();
+
+        for (long n = 0; ; n++) {
+            long intendedStart = start + (long) (n * intervalNanos);
+            if (intendedStart >= end) {
+                break;
+            }
+            long wait = intendedStart - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+
+            Operation operation = mix.pick(random);
+            OperationStats operationStats = stats.get(operation);
+            operationStats.requests.increment();
+            if (inFlight.get() >= maxInFlight) {
+                // The app has fallen this far behind; shed instead of growing without bound
+                operationStats.errors.increment();
+                continue;
+            }
+
+            HttpRequest request = operation.request(workload, random);
+            inFlight.incrementAndGet();
+            client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, failure) -> {
+                        long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - intendedStart);
+                        operationStats.latencyMicros.recordValue(Math.min(micros, HIGHEST_TRACKABLE_MICROS));
+                        if (failure != null || response.statusCode() / 100 != 2) {
+                            operationStats.errors.increment();
+                        }
+                        inFlight.decrementAndGet();
+                    });
+        }
+
+        long drainDeadline = System.nanoTime() + DRAIN_TIMEOUT.toNanos();
+        while (inFlight.get() > 0 && System.nanoTime() < drainDeadline) {
+            Thread.sleep(10);
+        }
+        long wallEnd = System.currentTimeMillis();
+        for (OperationStats operationStats : stats.values()) {
+            operationStats.latencyMicros.setStartTimeStamp(wallStart);
+            operationStats.latencyMicros.setEndTimeStamp(wallEnd);
+        }
+        if (inFlight.get() > 0) {
+            System.out.printf("%d requests still outstanding after %ds drain; they are missing from the histograms%n",
+                    inFlight.get(), DRAIN_TIMEOUT.toSeconds());
+        }
+        return stats;
+    }
+}
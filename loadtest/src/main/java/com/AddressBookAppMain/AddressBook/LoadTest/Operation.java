@@ -0,0 +1,84 @@
+package com.AddressBookAppMain.AddressBook.LoadTest;
+
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Random;
+
+// One kind of request a virtual user can make, and how to build it
+enum Operation {
+
+    GET_CONTACT("get-contact") {
+        @Override
+        HttpRequest request(Workload workload, Random random) {
+            return get(workload, "/addressbook/" + anyContact(workload, random));
+        }
+    },
+    LIST_PAGE("list-page") {
+        @Override
+        HttpRequest request(Workload workload, Random random) {
+            return get(workload, "/addressbook?size=50");
+        }
+    },
+    SEARCH("search") {
+        @Override
+        HttpRequest request(Workload workload, Random random) {
+            return get(workload, "/addressbook/search?q=" + URLEncoder.encode(Workload.firstName(random), StandardCharsets.UTF_8));
+        }
+    },
+    ADD_CONTACT("add-contact") {
+        @Override
+        HttpRequest request(Workload workload, Random random) {
+            return Workload.post(workload.base, "/addressbook", Workload.contact(random, random.nextInt(1_000_000)).toString());
+        }
+    },
+    UPDATE_CONTACT("update-contact") {
+        @Override
+        HttpRequest request(Workload workload, Random random) {
+            String body = Workload.contact(random, random.nextInt(1_000_000)).toString();
+            return HttpRequest.newBuilder(workload.base.resolve("/addressbook/" + anyContact(workload, random)))
+                    .timeout(TIMEOUT)
+                    .header("Content-Type", "application/json")
+                    .PUT(HttpRequest.BodyPublishers.ofString(body))
+                    .build();
+        }
+    },
+    LOGIN("login") {
+        @Override
+        HttpRequest request(Workload workload, Random random) {
+            String email = workload.passwordUsers.get(random.nextInt(workload.passwordUsers.size()));
+            return Workload.post(workload.base, "/api/auth/login", Workload.login(email));
+        }
+    },
+    LOGIN_WITH_TOKEN("login-with-token") {
+        @Override
+        HttpRequest request(Workload workload, Random random) {
+            String token = workload.tokens.get(random.nextInt(workload.tokens.size()));
+            return HttpRequest.newBuilder(workload.base.resolve("/api/auth/login-with-token"))
+                    .timeout(TIMEOUT)
+                    .header("Authorization", "Bearer " + token)
+                    .POST(HttpRequest.BodyPublishers.noBody())
+                    .build();
+        }
+    };
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    // Name used in reports and in loadtest.budget.<key>.* settings
+    final String key;
+
+    Operation(String key) {
+        this.key = key;
+    }
+
+    abstract HttpRequest request(Workload workload, Random random);
+
+    private static int anyContact(Workload workload, Random random) {
+        return workload.contactIds[random.nextInt(workload.contactIds.length)];
+    }
+
+    private static HttpRequest get(Workload workload, String path) {
+        return HttpRequest.newBuilder(workload.base.resolve(path)).timeout(TIMEOUT).GET().build();
+    }
+}
@@ -0,0 +1,61 @@
+package com.AddressBookAppMain.AddressBook.LoadTest;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Random;
+
+// Weighted share of each operation in the arrival stream
+enum TrafficMix {
+
+    READ_HEAVY("read-heavy", Map.of(
+            Operation.GET_CONTACT, 70,
+            Operation.LIST_PAGE, 15,
+            Operation.SEARCH, 10,
+            Operation.UPDATE_CONTACT, 5)),
+    WRITE_HEAVY("write-heavy", Map.of(
+            Operation.ADD_CONTACT, 40,
+            Operation.UPDATE_CONTACT, 40,
+            Operation.GET_CONTACT, 20)),
+    LOGIN_STORM("login-storm", Map.of(
+            Operation.LOGIN, 80,
+            Operation.LOGIN_WITH_TOKEN, 20));
+
+    final String key;
+    private final Operation[] operations;
+    private final int[] cumulativeWeights;
+
+    TrafficMix(String key, Map<Operation, Integer> weights) {
+        this.key = key;
+        Map<Operation, Integer> ordered = new EnumMap<>(weights);
+        this.operations = ordered.keySet().toArray(new Operation[0]);
+        this.cumulativeWeights = new int[operations.length];
+        int total = 0;
+        for (int i = 0; i < operations.length; i++) {
+            total += ordered.get(operations[i]);
+            cumulativeWeights[i] = total;
+        }
+    }
+
+    Operation pick(Random random) {
+        int roll = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (roll < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        return operations[operations.length - 1];
+    }
+
+    Operation[] operations() {
+        return operations.clone();
+    }
+
+    static TrafficMix fromKey(String key) {
+        return Arrays.stream(values())
+                .filter(mix -> mix.key.equalsIgnoreCase(key))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown traffic mix " + key
+                        + ", expected one of " + Arrays.toString(Arrays.stream(values()).map(mix -> mix.key).toArray())));
+    }
+}
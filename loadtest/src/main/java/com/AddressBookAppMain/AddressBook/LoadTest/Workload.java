@@ -0,0 +1,116 @@
+package com.AddressBookAppMain.AddressBook.LoadTest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Data the traffic mixes draw from: seeded contact ids and users.
+ * Users are split in two groups so password logins never revoke the tokens used for token logins.
+ */
+final class Workload {
+
+    static final String PASSWORD = "LoadTest@123";
+    static final ObjectMapper JSON = new ObjectMapper();
+
+    private static final String[] FIRST_NAMES = {"Aarav", "Vivaan", "Aditya", "Diya", "Ananya", "Ishaan", "Kavya", "Rohan",
+            "Meera", "Arjun", "Saanvi", "Kabir", "Nisha", "Vikram", "Priya", "Rahul"};
+    private static final String[] LAST_NAMES = {"Sharma", "Patel", "Iyer", "Reddy", "Nair", "Gupta", "Joshi", "Kulkarni",
+            "Desai", "Mehta"};
+    private static final String[] CITIES = {"Pune", "Mumbai", "Bengaluru", "Chennai", "Hyderabad", "Delhi", "Kolkata", "Jaipur"};
+    private static final int SEED_BATCH = 1_000;
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    final URI base;
+    final int[] contactIds;
+    final List<String> passwordUsers;
+    final List<String> tokens;
+
+    private Workload(URI base, int[] contactIds, List<String> passwordUsers, List<String> tokens) {
+        this.base = base;
+        this.contactIds = contactIds;
+        this.passwordUsers = passwordUsers;
+        this.tokens = tokens;
+    }
+
+    static Workload seed(HttpClient client, URI base, int contacts, int users) throws IOException, InterruptedException {
+        Random random = new Random(42);
+        int[] ids = new int[contacts];
+        int seeded = 0;
+        while (seeded < contacts) {
+            ArrayNode batch = JSON.createArrayNode();
+            for (int i = 0; i < SEED_BATCH && seeded + i < contacts; i++) {
+                batch.add(contact(random, seeded + i));
+            }
+            JsonNode saved = JSON.readTree(send(client, post(base, "/addressbook/batch", batch.toString())));
+            for (JsonNode contact : saved) {
+                ids[seeded++] = contact.get("id").asInt();
+            }
+        }
+
+        List<String> passwordUsers = new ArrayList<>();
+        List<String> tokens = new ArrayList<>();
+        for (int i = 0; i < users; i++) {
+            String email = "loaduser" + i + "@example.com";
+            ObjectNode user = JSON.createObjectNode()
+                    .put("username", "loaduser" + i)
+                    .put("email", email)
+                    .put("password", PASSWORD)
+                    .put("phone", String.format("8%09d", i));
+            send(client, post(base, "/api/auth/register", user.toString()));
+            if (i % 2 == 0) {
+                passwordUsers.add(email);
+            } else {
+                JsonNode login = JSON.readTree(send(client, post(base, "/api/auth/login", login(email))));
+                tokens.add(login.get("token").asText());
+            }
+        }
+        return new Workload(base, ids, passwordUsers, tokens);
+    }
+
+    static ObjectNode contact(Random random, int n) {
+        return JSON.createObjectNode()
+                .put("name", name(random))
+                .put("phone", String.format("9%09d", n))
+                .put("address", (n % 500 + 1) + " MG Road, " + CITIES[random.nextInt(CITIES.length)]);
+    }
+
+    static String name(Random random) {
+        return FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " " + LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+    }
+
+    static String firstName(Random random) {
+        return FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+    }
+
+    static String login(String email) {
+        return JSON.createObjectNode().put("email", email).put("password", PASSWORD).toString();
+    }
+
+    static HttpRequest post(URI base, String path, String json) {
+        return HttpRequest.newBuilder(base.resolve(path))
+                .timeout(TIMEOUT)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    private static String send(HttpClient client, HttpRequest request) throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() / 100 != 2) {
+            throw new IOException("Seeding failed: " + request.uri() + " returned " + response.statusCode() + ": " + response.body());
+        }
+        return response.body();
+    }
+}
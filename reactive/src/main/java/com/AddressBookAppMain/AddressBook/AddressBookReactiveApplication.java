@@ -0,0 +1,13 @@
+package com.AddressBookAppMain.AddressBook;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+@SpringBootApplication
+public class AddressBookReactiveApplication {
+
+	public static void main(String[] args) {
+		SpringApplication.run(AddressBookReactiveApplication.class, args);
+	}
+
+}
@@ -0,0 +1,63 @@
+package com.AddressBookAppMain.AddressBook.Controllers;
+
+import com.AddressBookAppMain.AddressBook.DTO.AddressBookDTO;
+import com.AddressBookAppMain.AddressBook.Entity.AddressBook;
+import com.AddressBookAppMain.AddressBook.Interfaces.IReactiveAddressBookService;
+import jakarta.validation.Valid;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping("/addressbook")
+@Slf4j
+public class AddressBookController {
+
+    private static final int DEFAULT_PAGE_SIZE = 50;
+
+    @Autowired
+    private IReactiveAddressBookService addressBookService;
+
+    // Without paging parameters the whole book is returned. Ask for application/x-ndjson to
+    // receive it as a stream with backpressure instead of one JSON array.
+    @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<AddressBook> getAllContacts(@RequestParam(required = false) Integer after,
+                                            @RequestParam(required = false) Integer size) {
+        if (after == null && size == null) {
+            return addressBookService.getAllContacts();
+        }
+        return addressBookService.getContactsAfter(after != null ? after : 0, size != null ? size : DEFAULT_PAGE_SIZE);
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<AddressBook>> getContactById(@PathVariable int id) {
+        return addressBookService.getContactById(id)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    @PostMapping
+    public Mono<ResponseEntity<AddressBook>> addContact(@Valid @RequestBody AddressBookDTO addressBookDTO) {
+        return addressBookService.addContact(addressBookDTO)
+                .map(ResponseEntity::ok);
+    }
+
+    @PutMapping("/{id}")
+    public Mono<ResponseEntity<AddressBook>> updateContact(@PathVariable int id, @Valid @RequestBody AddressBookDTO addressBookDTO) {
+        return addressBookService.updateContact(id, addressBookDTO)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<String>> deleteContact(@PathVariable int id) {
+        return addressBookService.deleteContact(id)
+                .map(deleted -> deleted
+                        ? ResponseEntity.ok("Contact deleted successfully.")
+                        : ResponseEntity.notFound().<String>build());
+    }
+}
@@ -0,0 +1,22 @@
+package com.AddressBookAppMain.AddressBook.Entity;
+
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+/**
+ * R2DBC mapping of the servlet app's address_book table.
+ * Same class name and fields, so contacts cached in Redis by either stack can be read by the other.
+ */
+@Data
+@Table("address_book")
+public class AddressBook {
+
+    // Null until inserted; R2DBC uses that to choose INSERT over UPDATE
+    @Id
+    private Integer id;
+
+    private String name;
+    private String phone;
+    private String address;
+}
@@ -0,0 +1,15 @@
+package com.AddressBookAppMain.AddressBook.Interfaces;
+
+import com.AddressBookAppMain.AddressBook.DTO.AddressBookDTO;
+import com.AddressBookAppMain.AddressBook.Entity.AddressBook;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface IReactiveAddressBookService {
+    Flux<AddressBook> getAllContacts();
+    Flux<AddressBook> getContactsAfter(int lastId, int size);
+    Mono<AddressBook> getContactById(int id);
+    Mono<AddressBook> addContact(AddressBookDTO addressBookDTO);
+    Mono<AddressBook> updateContact(int id, AddressBookDTO addressBookDTO);
+    Mono<Boolean> deleteContact(int id);
+}
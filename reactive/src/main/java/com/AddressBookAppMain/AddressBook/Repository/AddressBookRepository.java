@@ -0,0 +1,34 @@
+package com.AddressBookAppMain.AddressBook.Repository;
+
+import com.AddressBookAppMain.AddressBook.Entity.AddressBook;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// The servlet app soft-deletes contacts for delta sync, so every read here skips tombstones (deleted = TRUE)
+@Repository
+public interface AddressBookRepository extends ReactiveCrudRepository<AddressBook, Integer> {
+
+    // Rows are emitted as the driver decodes them, so the full list is never held in memory
+    @Query("SELECT * FROM address_book WHERE deleted = FALSE ORDER BY id")
+    Flux<AddressBook> findAllByOrderByIdAsc();
+
+    // Keyset paging, same contract as the servlet repository
+    @Query("SELECT * FROM address_book WHERE id > :id AND deleted = FALSE ORDER BY id LIMIT :limit")
+    Flux<AddressBook> findByIdGreaterThanOrderByIdAsc(int id, int limit);
+
+    @Query("SELECT * FROM address_book WHERE id = :id AND deleted = FALSE")
+    Mono<AddressBook> findLiveById(int id);
+
+    // Takes over a phone number from a deleted contact, same rule as the servlet phone index hand-off
+    @Query("SELECT * FROM address_book WHERE phone = :phone AND deleted = FALSE ORDER BY id DESC LIMIT 1")
+    Mono<AddressBook> findNewestLiveByPhone(String phone);
+
+    // Leaves a tombstone, like the servlet app's delete; MySQL stamps updated_at
+    @Modifying
+    @Query("UPDATE address_book SET deleted = TRUE WHERE id = :id AND deleted = FALSE")
+    Mono<Integer> softDeleteById(int id);
+}
@@ -0,0 +1,26 @@
+package com.AddressBookAppMain.AddressBook.Security;
+
+import com.AddressBookAppMain.AddressBook.Entity.AddressBook;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+
+@Configuration
+public class RedisConfig {
+
+    // Same key/value encoding as the servlet app's redisTemplate, so both stacks share the cache
+    @Bean
+    public ReactiveRedisTemplate<String, AddressBook> reactiveRedisTemplate(ReactiveRedisConnectionFactory factory) {
+        AddressBookRedisSerializer contactSerializer = new AddressBookRedisSerializer();
+        RedisSerializationContext<String, AddressBook> context = RedisSerializationContext
+                .<String, AddressBook>newSerializationContext(new StringRedisSerializer())
+                .value(contactSerializer)
+                .hashKey(new StringRedisSerializer())
+                .hashValue(contactSerializer)
+                .build();
+        return new ReactiveRedisTemplate<>(factory, context);
+    }
+}
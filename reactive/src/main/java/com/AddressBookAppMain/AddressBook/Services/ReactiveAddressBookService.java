@@ -0,0 +1,225 @@
+package com.AddressBookAppMain.AddressBook.Services;
+
+import com.AddressBookAppMain.AddressBook.DTO.AddressBookDTO;
+import com.AddressBookAppMain.AddressBook.DTO.ContactChangeDTO;
+import com.AddressBookAppMain.AddressBook.Entity.AddressBook;
+import com.AddressBookAppMain.AddressBook.Exception.AddressBookException;
+import com.AddressBookAppMain.AddressBook.Interfaces.IReactiveAddressBookService;
+import com.AddressBookAppMain.AddressBook.Repository.AddressBookRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.GenericToStringSerializer;
+import org.springframework.data.redis.serializer.RedisElementReader;
+import org.springframework.data.redis.serializer.RedisElementWriter;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.util.ByteUtils;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * Non-blocking counterpart of the servlet AddressBookService.
+ * It shares the MySQL table and the Redis keys with the servlet nodes. Every write patches the
+ * same per-contact key and, through the servlet's patch_index.lua, the index hash and the
+ * collection version behind the list ETag. It broadcasts on the near cache channel so servlet
+ * nodes drop their local copies, and on the search and phone index channels so their in-memory
+ * indexes follow the change.
+ */
+@Service
+@Slf4j
+public class ReactiveAddressBookService implements IReactiveAddressBookService {
+
+    @Autowired
+    private AddressBookRepository addressBookRepository;
+
+    @Autowired
+    private ReactiveRedisTemplate<String, AddressBook> reactiveRedisTemplate;
+
+    @Autowired
+    private ReactiveStringRedisTemplate reactiveStringRedisTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private static final String REDIS_KEY_CONTACT_PREFIX = "AddressBook:Contact:";
+    private static final Duration CONTACT_CACHE_TTL = Duration.ofMinutes(10);
+    private static final String REDIS_KEY_CONTACT_INDEX = "AddressBook:Index";
+    private static final String INVALIDATION_CHANNEL = "AddressBook:Invalidate";
+    // Channels and message formats of the servlet ContactSearchIndex and ContactPhoneIndex
+    private static final String SEARCH_INDEX_CHANNEL = "AddressBook:SearchIndex";
+    private static final String PHONE_INDEX_CHANNEL = "AddressBook:PhoneIndex";
+    // The phone index only holds numbers of exactly 10 digits
+    private static final Pattern INDEXED_PHONE = Pattern.compile("[0-9]{10}");
+    private static final String REDIS_KEY_VERSION = "AddressBook:Version";
+    private static final int MAX_PAGE_SIZE = 500;
+
+    // Servlet near caches ignore messages from their own node id; ours never matches theirs
+    private final String nodeId = UUID.randomUUID().toString();
+
+    // Same script as the servlet AddressBookService: its index rebuild is only safe if every writer
+    // patches the index and bumps the version in one step
+    private final RedisScript<Long> patchIndexScript = RedisScript.of(new ClassPathResource("scripts/patch_index.lua"), Long.class);
+
+    @Override
+    public Flux<AddressBook> getAllContacts() {
+        log.info("Streaming all contacts...");
+        return addressBookRepository.findAllByOrderByIdAsc();
+    }
+
+    @Override
+    public Flux<AddressBook> getContactsAfter(int lastId, int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            return Flux.error(new AddressBookException("Page size must be between 1 and " + MAX_PAGE_SIZE));
+        }
+        return addressBookRepository.findByIdGreaterThanOrderByIdAsc(lastId, size);
+    }
+
+    @Override
+    public Mono<AddressBook> getContactById(int id) {
+        String redisKey = REDIS_KEY_CONTACT_PREFIX + id;
+        log.info("Fetching contact with ID: {}", id);
+
+        Mono<AddressBook> fromDatabase = addressBookRepository.findLiveById(id)
+                .flatMap(contact -> reactiveRedisTemplate.opsForValue()
+                        .set(redisKey, contact, CONTACT_CACHE_TTL)
+                        .doOnNext(stored -> log.info("Contact {} stored in Redis cache", id))
+                        .thenReturn(contact));
+
+        return reactiveRedisTemplate.opsForValue().get(redisKey)
+                .doOnNext(contact -> log.info("Returning contact {} from Redis cache", id))
+                .switchIfEmpty(fromDatabase);
+    }
+
+    @Override
+    public Mono<AddressBook> addContact(AddressBookDTO addressBookDTO) {
+        log.info("Adding new contact: {}", addressBookDTO);
+
+        AddressBook contact = new AddressBook();
+        contact.setName(addressBookDTO.getName());
+        contact.setPhone(addressBookDTO.getPhone());
+        contact.setAddress(addressBookDTO.getAddress());
+
+        return addressBookRepository.save(contact)
+                .flatMap(saved -> cacheContact(saved)
+                        .then(publishIndexed(saved, null))
+                        .thenReturn(saved))
+                .doOnNext(saved -> log.info("Contact {} added & cached in Redis", saved.getId()));
+    }
+
+    @Override
+    public Mono<AddressBook> updateContact(int id, AddressBookDTO addressBookDTO) {
+        log.info("Updating contact with ID: {}", id);
+
+        return addressBookRepository.findLiveById(id)
+                .flatMap(contact -> {
+                    String oldPhone = contact.getPhone();
+                    contact.setName(addressBookDTO.getName());
+                    contact.setPhone(addressBookDTO.getPhone());
+                    contact.setAddress(addressBookDTO.getAddress());
+                    return addressBookRepository.save(contact)
+                            .flatMap(updated -> cacheContact(updated)
+                                    .then(publishInvalidation(id))
+                                    .then(publishIndexed(updated, oldPhone))
+                                    .thenReturn(updated));
+                })
+                .doOnNext(updated -> log.info("Contact {} updated & cached in Redis", id));
+    }
+
+    @Override
+    public Mono<Boolean> deleteContact(int id) {
+        log.info("Deleting contact with ID: {}", id);
+
+        return addressBookRepository.findLiveById(id)
+                .flatMap(existing -> addressBookRepository.softDeleteById(id)
+                        .then(reactiveRedisTemplate.delete(REDIS_KEY_CONTACT_PREFIX + id))
+                        .then(patchIndex("del", List.of(utf8(String.valueOf(id)))))
+                        .then(publishInvalidation(id))
+                        .then(publishRemoved(existing))
+                        .doOnSuccess(done -> log.info("Contact {} deleted from DB and Redis", id))
+                        .thenReturn(true))
+                .switchIfEmpty(Mono.fromSupplier(() -> {
+                    log.warn("Contact {} not found for deletion", id);
+                    return false;
+                }));
+    }
+
+    // Per-contact key, then the index entry; the script leaves the index alone until a servlet node has built it
+    private Mono<Void> cacheContact(AddressBook contact) {
+        byte[] encoded = ByteUtils.getBytes(reactiveRedisTemplate.getSerializationContext()
+                .getHashValueSerializationPair().write(contact));
+        return reactiveRedisTemplate.opsForValue()
+                .set(REDIS_KEY_CONTACT_PREFIX + contact.getId(), contact, CONTACT_CACHE_TTL)
+                .then(patchIndex("put", List.of(utf8(String.valueOf(contact.getId())), encoded)));
+    }
+
+    // Runs after the per-contact key is written, so a servlet reader never pairs the new version with old data
+    private Mono<Void> patchIndex(String op, List<byte[]> entries) {
+        List<byte[]> args = new ArrayList<>(1 + entries.size());
+        args.add(utf8(op));
+        args.addAll(entries);
+        return reactiveRedisTemplate.execute(patchIndexScript, List.of(REDIS_KEY_CONTACT_INDEX, REDIS_KEY_VERSION), args,
+                        RedisElementWriter.from(RedisSerializer.byteArray()),
+                        RedisElementReader.from(new GenericToStringSerializer<>(Long.class)))
+                .then();
+    }
+
+    private static byte[] utf8(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private Mono<Long> publishInvalidation(int id) {
+        return reactiveStringRedisTemplate.convertAndSend(INVALIDATION_CHANNEL, nodeId + ":" + id);
+    }
+
+    // oldPhone is null for a new contact
+    private Mono<Void> publishIndexed(AddressBook contact, String oldPhone) {
+        Mono<Void> search = Mono.fromCallable(() -> objectMapper.writeValueAsString(
+                        new ContactChangeDTO(contact.getId(), contact.getName(), contact.getPhone(), contact.getAddress())))
+                .flatMap(json -> reactiveStringRedisTemplate.convertAndSend(SEARCH_INDEX_CHANNEL, nodeId + ":index:" + json))
+                .then();
+        if (Objects.equals(oldPhone, contact.getPhone())) {
+            return search;
+        }
+        return search
+                .then(publishPhoneRemoved(oldPhone, contact.getId()))
+                .then(publishPhone("put", contact.getPhone(), contact.getId()));
+    }
+
+    private Mono<Void> publishRemoved(AddressBook contact) {
+        return reactiveStringRedisTemplate.convertAndSend(SEARCH_INDEX_CHANNEL, nodeId + ":remove:" + contact.getId())
+                .then(publishPhoneRemoved(contact.getPhone(), contact.getId()));
+    }
+
+    // Servlet nodes only drop the number if this contact owned it; another contact sharing it takes
+    // it over, the same hand-off ContactPhoneIndex.remove does
+    private Mono<Void> publishPhoneRemoved(String phone, int id) {
+        if (phone == null || !INDEXED_PHONE.matcher(phone).matches()) {
+            return Mono.empty();
+        }
+        return publishPhone("remove", phone, id)
+                .then(addressBookRepository.findNewestLiveByPhone(phone))
+                .flatMap(other -> publishPhone("put", other.getPhone(), other.getId()));
+    }
+
+    private Mono<Void> publishPhone(String op, String phone, int id) {
+        if (phone == null || !INDEXED_PHONE.matcher(phone).matches()) {
+            return Mono.empty();
+        }
+        // The servlet index keys numbers by their value, so leading zeros are dropped
+        return reactiveStringRedisTemplate.convertAndSend(PHONE_INDEX_CHANNEL, nodeId + ":" + op + ":" + Long.parseLong(phone) + ":" + id)
+                .then();
+    }
+}
@@ -0,0 +1,48 @@
+package com.AddressBookAppMain.AddressBook.Service;
+
+import com.AddressBookAppMain.AddressBook.Entity.AddressBook;
+import com.AddressBookAppMain.AddressBook.Security.AddressBookRedisSerializer;
+import org.junit.Test;
+
+import java.util.HexFormat;
+
+import static org.junit.Assert.*;
+
+public class AddressBookRedisSerializerTest {
+
+    // The bytes the servlet app's serializer writes for the same contacts, pinned by its own
+    // AddressBookRedisSerializerTest; both entities must map to them so the stacks can share the cache
+    static final String ALICE_V1 = "01c0c4070d416c69636520536861726d610b39383736353433323130113132204d4720526f61642c2050756e65";
+    static final String ZOE_V1 = "01070d5a6fc3ab204dc3bc6c6c65720001";
+
+    private final AddressBookRedisSerializer serializer = new AddressBookRedisSerializer();
+
+    private static AddressBook contact(Integer id, String name, String phone, String address) {
+        AddressBook contact = new AddressBook();
+        contact.setId(id);
+        contact.setName(name);
+        contact.setPhone(phone);
+        contact.setAddress(address);
+        return contact;
+    }
+
+    @Test
+    public void testSerialize_WritesServletWireFormat() {
+        assertEquals(ALICE_V1, HexFormat.of().formatHex(serializer.serialize(contact(123456, "Alice Sharma", "9876543210", "12 MG Road, Pune"))));
+        assertEquals(ZOE_V1, HexFormat.of().formatHex(serializer.serialize(contact(7, "Zoë Müller", null, ""))));
+    }
+
+    @Test
+    public void testDeserialize_ReadsServletWireFormat() {
+        assertEquals(contact(123456, "Alice Sharma", "9876543210", "12 MG Road, Pune"), serializer.deserialize(HexFormat.of().parseHex(ALICE_V1)));
+        assertEquals(contact(7, "Zoë Müller", null, ""), serializer.deserialize(HexFormat.of().parseHex(ZOE_V1)));
+    }
+
+    @Test
+    public void testSerialize_UnsavedContactWritesIdZero() {
+        // The servlet entity has a primitive id, so it reads 0 for a contact that was never inserted
+        AddressBook decoded = serializer.deserialize(serializer.serialize(contact(null, "Alice", null, null)));
+
+        assertEquals(Integer.valueOf(0), decoded.getId());
+    }
+}
@@ -0,0 +1,245 @@
+package com.AddressBookAppMain.AddressBook.Service;
+
+import com.AddressBookAppMain.AddressBook.DTO.AddressBookDTO;
+import com.AddressBookAppMain.AddressBook.Entity.AddressBook;
+import com.AddressBookAppMain.AddressBook.Repository.AddressBookRepository;
+import com.AddressBookAppMain.AddressBook.Security.AddressBookRedisSerializer;
+import com.AddressBookAppMain.AddressBook.Services.ReactiveAddressBookService;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.data.r2dbc.DataR2dbcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.redis.core.ReactiveHashOperations;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.ReactiveValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+// Runs the service against the H2 stand-in; Redis is mocked
+@RunWith(SpringRunner.class)
+@DataR2dbcTest
+@ActiveProfiles("test")
+@Import({ReactiveAddressBookService.class, JacksonAutoConfiguration.class})
+public class ReactiveAddressBookServiceTest {
+
+    private static final String INDEX_KEY = "AddressBook:Index";
+
+    @Autowired
+    private ReactiveAddressBookService addressBookService;
+
+    @Autowired
+    private AddressBookRepository addressBookRepository;
+
+    @MockBean
+    private ReactiveRedisTemplate<String, AddressBook> reactiveRedisTemplate;
+
+    @MockBean
+    private ReactiveStringRedisTemplate reactiveStringRedisTemplate;
+
+    private ReactiveValueOperations<String, AddressBook> valueOperations;
+    private ReactiveHashOperations<String, Object, Object> hashOperations;
+    private final AddressBookRedisSerializer contactSerializer = new AddressBookRedisSerializer();
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        valueOperations = mock(ReactiveValueOperations.class);
+        hashOperations = mock(ReactiveHashOperations.class);
+        when(reactiveRedisTemplate.opsForValue()).thenReturn(valueOperations);
+        doReturn(hashOperations).when(reactiveRedisTemplate).opsForHash();
+        when(valueOperations.get(anyString())).thenReturn(Mono.empty());
+        when(valueOperations.set(anyString(), any(AddressBook.class), any(Duration.class))).thenReturn(Mono.just(true));
+        when(reactiveRedisTemplate.getSerializationContext()).thenReturn(RedisSerializationContext
+                .<String, AddressBook>newSerializationContext(new StringRedisSerializer())
+                .hashValue(contactSerializer)
+                .build());
+        when(reactiveRedisTemplate.execute(any(RedisScript.class), anyList(), anyList(), any(), any())).thenReturn(Flux.just(1L));
+        when(reactiveRedisTemplate.delete(anyString())).thenReturn(Mono.just(1L));
+        when(reactiveStringRedisTemplate.convertAndSend(anyString(), anyString())).thenReturn(Mono.just(0L));
+        addressBookRepository.deleteAll().block();
+    }
+
+    // Args of each patch_index.lua run, in order: ops and ids as text, contacts decoded
+    @SuppressWarnings("unchecked")
+    private List<List<Object>> indexScriptRuns() {
+        return mockingDetails(reactiveRedisTemplate).getInvocations().stream()
+                .filter(invocation -> invocation.getMethod().getName().equals("execute")
+                        && List.of(INDEX_KEY, "AddressBook:Version").equals(invocation.getArgument(1)))
+                .map(invocation -> ((List<byte[]>) invocation.getArgument(2)).stream()
+                        .map(bytes -> {
+                            AddressBook contact = contactSerializer.deserialize(bytes);
+                            return contact != null ? contact : (Object) new String(bytes, StandardCharsets.UTF_8);
+                        })
+                        .collect(Collectors.toList()))
+                .collect(Collectors.toList());
+    }
+
+    // Messages published on a channel, without the node id prefix, which must be this service's on every one
+    private List<String> messagesOn(String channel) {
+        ArgumentCaptor<String> messages = ArgumentCaptor.forClass(String.class);
+        verify(reactiveStringRedisTemplate, atLeast(0)).convertAndSend(eq(channel), messages.capture());
+        long nodeIds = messages.getAllValues().stream()
+                .map(message -> message.substring(0, message.indexOf(':')))
+                .distinct()
+                .count();
+        assertTrue(nodeIds <= 1);
+        return messages.getAllValues().stream()
+                .map(message -> message.substring(message.indexOf(':')))
+                .collect(Collectors.toList());
+    }
+
+    private static AddressBookDTO dto(String name) {
+        AddressBookDTO dto = new AddressBookDTO();
+        dto.setName(name);
+        dto.setPhone("9876543210");
+        dto.setAddress("Pune");
+        return dto;
+    }
+
+    @Test
+    public void testGetContactById_CacheMissLoadsRowAndCachesIt() {
+        AddressBook saved = addressBookService.addContact(dto("Alice")).block();
+        assertNotNull(saved.getId());
+        clearInvocations(valueOperations);
+
+        StepVerifier.create(addressBookService.getContactById(saved.getId()))
+                .assertNext(contact -> assertEquals("Alice", contact.getName()))
+                .verifyComplete();
+
+        verify(valueOperations, times(1)).set(eq("AddressBook:Contact:" + saved.getId()), any(AddressBook.class), any(Duration.class));
+    }
+
+    @Test
+    public void testGetContactById_CacheHitSkipsDatabase() {
+        AddressBook cached = new AddressBook();
+        cached.setId(99);
+        cached.setName("Cached");
+        when(valueOperations.get("AddressBook:Contact:99")).thenReturn(Mono.just(cached));
+
+        StepVerifier.create(addressBookService.getContactById(99))
+                .expectNext(cached)
+                .verifyComplete();
+
+        verify(valueOperations, never()).set(anyString(), any(AddressBook.class), any(Duration.class));
+    }
+
+    @Test
+    public void testUpdateContact_BroadcastsInvalidation() {
+        AddressBook saved = addressBookService.addContact(dto("Alice")).block();
+
+        StepVerifier.create(addressBookService.updateContact(saved.getId(), dto("Alicia")))
+                .assertNext(contact -> assertEquals("Alicia", contact.getName()))
+                .verifyComplete();
+
+        verify(reactiveStringRedisTemplate, times(1)).convertAndSend(eq("AddressBook:Invalidate"), endsWith(":" + saved.getId()));
+    }
+
+    @Test
+    public void testDeleteContact_LeavesTombstoneAndRemovesCacheEntries() {
+        AddressBook saved = addressBookService.addContact(dto("Bob")).block();
+
+        StepVerifier.create(addressBookService.deleteContact(saved.getId()))
+                .expectNext(true)
+                .verifyComplete();
+        StepVerifier.create(addressBookRepository.findLiveById(saved.getId()))
+                .verifyComplete();
+        // The row stays behind as a tombstone for delta sync
+        StepVerifier.create(addressBookRepository.findById(saved.getId()))
+                .expectNextCount(1)
+                .verifyComplete();
+        StepVerifier.create(addressBookService.deleteContact(saved.getId()))
+                .expectNext(false)
+                .verifyComplete();
+
+        verify(reactiveRedisTemplate, times(1)).delete("AddressBook:Contact:" + saved.getId());
+        assertEquals(List.of("del", String.valueOf(saved.getId())), indexScriptRuns().get(1));
+        verify(hashOperations, never()).remove(any(), any());
+    }
+
+    @Test
+    public void testWrites_PatchIndexAndBumpVersionInOneScript() {
+        AddressBook saved = addressBookService.addContact(dto("Carol")).block();
+        AddressBook updated = addressBookService.updateContact(saved.getId(), dto("Caroline")).block();
+        addressBookService.deleteContact(saved.getId()).block();
+        // Nothing to delete, nothing changed
+        addressBookService.deleteContact(saved.getId()).block();
+
+        String id = String.valueOf(saved.getId());
+        assertEquals(List.of(List.of("put", id, saved), List.of("put", id, updated), List.of("del", id)), indexScriptRuns());
+        // No hasKey-then-HSET from here: the script checks the index exists
+        verify(reactiveRedisTemplate, never()).hasKey(anyString());
+    }
+
+    @Test
+    public void testWrites_BroadcastSearchAndPhoneIndexChanges() {
+        AddressBook saved = addressBookService.addContact(dto("Alice")).block();
+        AddressBookDTO moved = dto("Alicia");
+        moved.setPhone("0123456789");
+        addressBookService.updateContact(saved.getId(), moved).block();
+        addressBookService.deleteContact(saved.getId()).block();
+
+        // Same formats the servlet ContactSearchIndex and ContactPhoneIndex broadcast and apply
+        int id = saved.getId();
+        assertEquals(List.of(
+                ":index:{\"id\":" + id + ",\"name\":\"Alice\",\"phone\":\"9876543210\",\"address\":\"Pune\"}",
+                ":index:{\"id\":" + id + ",\"name\":\"Alicia\",\"phone\":\"0123456789\",\"address\":\"Pune\"}",
+                ":remove:" + id), messagesOn("AddressBook:SearchIndex"));
+        // Numbers are keyed by value, as the servlet index parses them
+        assertEquals(List.of(
+                ":put:9876543210:" + id,
+                ":remove:9876543210:" + id,
+                ":put:123456789:" + id,
+                ":remove:123456789:" + id), messagesOn("AddressBook:PhoneIndex"));
+    }
+
+    @Test
+    public void testDeleteContact_HandsPhoneToContactSharingIt() {
+        AddressBook alice = addressBookService.addContact(dto("Alice")).block();
+        AddressBook bob = addressBookService.addContact(dto("Bob")).block();
+        clearInvocations(reactiveStringRedisTemplate);
+
+        addressBookService.deleteContact(bob.getId()).block();
+
+        assertEquals(List.of(":remove:9876543210:" + bob.getId(), ":put:9876543210:" + alice.getId()),
+                messagesOn("AddressBook:PhoneIndex"));
+    }
+
+    @Test
+    public void testUpdateContact_SamePhoneLeavesPhoneIndexAlone() {
+        AddressBook saved = addressBookService.addContact(dto("Alice")).block();
+        clearInvocations(reactiveStringRedisTemplate);
+
+        addressBookService.updateContact(saved.getId(), dto("Alicia")).block();
+
+        assertTrue(messagesOn("AddressBook:PhoneIndex").isEmpty());
+        assertEquals(1, messagesOn("AddressBook:SearchIndex").size());
+    }
+
+    @Test
+    public void testDeleteContact_MissingContactReturnsFalse() {
+        StepVerifier.create(addressBookService.deleteContact(12345))
+                .expectNext(false)
+                .verifyComplete();
+    }
+}
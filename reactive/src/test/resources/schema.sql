@@ -0,0 +1,8 @@
+CREATE TABLE IF NOT EXISTS address_book (
+    id INT AUTO_INCREMENT PRIMARY KEY,
+    name VARCHAR(255),
+    phone VARCHAR(255),
+    address VARCHAR(255),
+    updated_at DATETIME(6) DEFAULT CURRENT_TIMESTAMP(6) ON UPDATE CURRENT_TIMESTAMP(6) NOT NULL,
+    deleted BOOLEAN DEFAULT FALSE NOT NULL
+);
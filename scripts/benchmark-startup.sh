@@ -0,0 +1,93 @@
+#!/usr/bin/env bash
+# Measures startup-to-ready and time to the first good p99, for a plain start versus the
+# fast-startup build (Spring AOT + CDS archive + warm-up before readiness).
+#
+# Needs the usual MySQL/Redis/RabbitMQ (see application.properties) and `hey`
+# (https://github.com/rakyll/hey). Usage:
+#   scripts/benchmark-startup.sh [p99 target ms] [concurrency]
+# e.g. scripts/benchmark-startup.sh 50 50
+set -euo pipefail
+
+P99_TARGET_MS=${1:-50}
+CONCURRENCY=${2:-50}
+WINDOW=5s
+MAX_WINDOWS=24
+PORT=8086
+BASE="http://localhost:${PORT}"
+ROOT="$(cd "$(dirname "$0")/.." && pwd)"
+RESULTS="${ROOT}/target/startup-benchmark"
+mkdir -p "${RESULTS}"
+
+"${ROOT}/mvnw" -q -B -f "${ROOT}/common/pom.xml" install
+"${ROOT}/mvnw" -q -B -Pfast-startup -DskipTests package
+JAR=$(ls "${ROOT}"/target/AddressBook-App-*-exec.jar | head -1)
+STARTUP_JAR="${ROOT}/target/startup/$(basename "${JAR}")"
+
+now_ms() {
+  date +%s%3N
+}
+
+# Prints the p99 of a hey report in milliseconds
+p99_ms() {
+  awk '/99% in/ {printf "%d", $3 * 1000}' "$1"
+}
+
+run_mode() {
+  local mode=$1
+  shift
+  echo "== ${mode}"
+  local start
+  start=$(now_ms)
+  "$@" > "${RESULTS}/${mode}-app.log" 2>&1 &
+  local pid=$!
+  trap "kill ${pid} 2>/dev/null || true" EXIT
+
+  local ready=""
+  for _ in $(seq 1 1200); do
+    if curl -sf "${BASE}/actuator/health/readiness" 2>/dev/null | grep -q '"UP"'; then
+      ready=$(now_ms)
+      break
+    fi
+    sleep 0.1
+  done
+  if [ -z "${ready}" ]; then
+    echo "application did not become ready" >&2
+    return 1
+  fi
+
+  # Seed one contact so GET /addressbook/1 has something to return (a no-op after the first run)
+  curl -sf -H 'Content-Type: application/json' \
+       -d '{"name":"Benchmark User","phone":"9876543210","address":"Pune"}' "${BASE}/addressbook" > /dev/null || true
+
+  # Back-to-back load windows until one meets the p99 target
+  local first_p99="" good=""
+  for window in $(seq 1 "${MAX_WINDOWS}"); do
+    hey -z "${WINDOW}" -c "${CONCURRENCY}" "${BASE}/addressbook/1" > "${RESULTS}/${mode}-window-${window}.txt"
+    local p99
+    p99=$(p99_ms "${RESULTS}/${mode}-window-${window}.txt")
+    [ -z "${first_p99}" ] && first_p99=${p99}
+    if [ "${p99}" -le "${P99_TARGET_MS}" ]; then
+      good=$(now_ms)
+      break
+    fi
+  done
+
+  local to_good="never"
+  [ -n "${good}" ] && to_good="$((good - start)) ms"
+  echo "${mode} $((ready - start)) ${first_p99} ${to_good}" >> "${RESULTS}/summary.txt"
+
+  kill "${pid}"
+  wait "${pid}" 2>/dev/null || true
+  trap - EXIT
+}
+
+: > "${RESULTS}/summary.txt"
+run_mode baseline java -jar "${JAR}"
+run_mode fast-startup java -XX:SharedArchiveFile="${ROOT}/target/startup/application.jsa" -Dspring.aot.enabled=true \
+         -jar "${STARTUP_JAR}" --spring.profiles.active=fast-startup
+
+printf '\n%-14s %-18s %-20s %-26s\n' mode "start to ready" "first window p99" "start to p99<=${P99_TARGET_MS}ms"
+while read -r mode ready first_p99 to_good; do
+  printf '%-14s %-18s %-20s %-26s\n' "${mode}" "${ready} ms" "${first_p99} ms" "${to_good}"
+done < "${RESULTS}/summary.txt"
+echo "hey reports for every load window and the app logs are in ${RESULTS}"
@@ -0,0 +1,64 @@
+#!/usr/bin/env bash
+# Compares request throughput of the platform-thread and virtual-thread execution modes.
+#
+# Needs the usual MySQL/Redis/RabbitMQ (see application.properties), JDK 21 and `hey`
+# (https://github.com/rakyll/hey). Usage:
+#   scripts/benchmark-thread-modes.sh [duration] [concurrency]
+# e.g. scripts/benchmark-thread-modes.sh 60s 1000
+set -euo pipefail
+
+DURATION=${1:-30s}
+CONCURRENCY=${2:-500}
+PORT=8086
+BASE="http://localhost:${PORT}"
+ROOT="$(cd "$(dirname "$0")/.." && pwd)"
+RESULTS="${ROOT}/target/thread-mode-benchmark"
+mkdir -p "${RESULTS}"
+
+"${ROOT}/mvnw" -q -B -f "${ROOT}/common/pom.xml" install
+"${ROOT}/mvnw" -q -B -Pvirtual-threads -DskipTests package
+JAR=$(ls "${ROOT}"/target/AddressBook-App-*-exec.jar | head -1)
+
+wait_for_app() {
+  for _ in $(seq 1 120); do
+    curl -sf "${BASE}/addressbook?size=1" > /dev/null && return 0
+    sleep 1
+  done
+  echo "application did not start" >&2
+  return 1
+}
+
+run_mode() {
+  local mode=$1 profiles=$2
+  echo "== ${mode} threads"
+  java -jar "${JAR}" --spring.profiles.active="${profiles}" > "${RESULTS}/${mode}-app.log" 2>&1 &
+  local pid=$!
+  trap "kill ${pid} 2>/dev/null || true" EXIT
+  wait_for_app
+
+  # Seed one contact so the read paths have something to return
+  curl -sf -H 'Content-Type: application/json' \
+       -d '{"name":"Benchmark User","phone":"9876543210","address":"Pune"}' "${BASE}/addressbook" > /dev/null || true
+
+  # Warm up JIT and caches before measuring
+  hey -z 10s -c 50 "${BASE}/addressbook/1" > /dev/null
+
+  hey -z "${DURATION}" -c "${CONCURRENCY}" "${BASE}/addressbook/1" > "${RESULTS}/${mode}-by-id.txt"
+  hey -z "${DURATION}" -c "${CONCURRENCY}" "${BASE}/addressbook?size=50" > "${RESULTS}/${mode}-page.txt"
+
+  kill "${pid}"
+  wait "${pid}" 2>/dev/null || true
+  trap - EXIT
+}
+
+run_mode platform default
+run_mode virtual virtual-threads
+
+printf '\n%-10s %-22s %-22s\n' mode "GET /addressbook/{id}" "GET /addressbook?size=50"
+for mode in platform virtual; do
+  byId=$(grep 'Requests/sec' "${RESULTS}/${mode}-by-id.txt" | awk '{print $2}')
+  page=$(grep 'Requests/sec' "${RESULTS}/${mode}-page.txt" | awk '{print $2}')
+  printf '%-10s %-22s %-22s\n' "${mode}" "${byId} req/s" "${page} req/s"
+done
+echo "Full reports (latency distribution included) are in ${RESULTS}"
+echo "Pinning traces, if any, are in ${RESULTS}/virtual-app.log (run with -Djdk.tracePinnedThreads=short)"
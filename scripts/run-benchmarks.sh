@@ -0,0 +1,17 @@
+#!/usr/bin/env bash
+# Builds the app and the JMH module, then runs the benchmarks.
+# Extra arguments go straight to JMH, e.g. a name filter:
+#   scripts/run-benchmarks.sh AddressBookServiceBenchmark
+#   scripts/run-benchmarks.sh -rff results/release-1.2.json
+# Results (throughput, gc.alloc.rate.norm) land in benchmarks/results/ as JSON; compare two runs
+# with any JMH visualizer or `jq '.[] | {benchmark, params, primaryMetric: .primaryMetric.score}'`.
+set -euo pipefail
+
+ROOT="$(cd "$(dirname "$0")/.." && pwd)"
+
+"${ROOT}/mvnw" -q -B -f "${ROOT}/common/pom.xml" install
+"${ROOT}/mvnw" -q -B -f "${ROOT}/pom.xml" -DskipTests install
+"${ROOT}/mvnw" -q -B -f "${ROOT}/benchmarks/pom.xml" package
+
+cd "${ROOT}/benchmarks"
+java -jar target/benchmarks.jar "$@"
@@ -1,16 +1,32 @@
 package com.AddressBookAppMain.AddressBook.Controllers;
 
 import com.AddressBookAppMain.AddressBook.DTO.AddressBookDTO;
+import com.AddressBookAppMain.AddressBook.DTO.ContactChangesDTO;
+import com.AddressBookAppMain.AddressBook.DTO.ContactPageDTO;
 import com.AddressBookAppMain.AddressBook.Entity.AddressBook;
+import com.AddressBookAppMain.AddressBook.Exception.AddressBookException;
 import com.AddressBookAppMain.AddressBook.Interfaces.IAddressBookService;
 import com.AddressBookAppMain.AddressBook.Services.AddressBookService;
+import com.AddressBookAppMain.AddressBook.Services.ContactExportService;
+import com.AddressBookAppMain.AddressBook.Services.ContactVersions;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
@@ -21,18 +37,115 @@ import java.util.stream.Collectors;
 @Slf4j
 public class AddressBookController {
 
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_BATCH_SIZE = 10_000;
+
     @Autowired
     private IAddressBookService addressBookService;
 
+    @Autowired
+    private ContactExportService contactExportService;
+
+    @Autowired
+    private ContactVersions contactVersions;
+
+    @Autowired
+    private Validator validator;
+
+    @Value("${addressbook.export.timeout:1h}")
+    private Duration exportTimeout;
+
+    // Without any paging parameter the legacy full list is returned (served from the Redis index);
+    // pass size and/or cursor to page through the book by id, or ids=1,2,3 to fetch specific contacts.
     @GetMapping
-    public ResponseEntity<List<AddressBook>> getAllContacts() {
-        return ResponseEntity.ok(addressBookService.getAllContacts());
+    public ResponseEntity<?> getAllContacts(@RequestParam(required = false) List<Integer> ids,
+                                            @RequestParam(required = false) String cursor,
+                                            @RequestParam(required = false) Integer size,
+                                            @RequestParam(required = false) String name,
+                                            @RequestParam(required = false) String phone,
+                                            @RequestParam(defaultValue = "asc") String sort,
+                                            WebRequest webRequest) {
+        if (ids != null) {
+            return ResponseEntity.ok(addressBookService.getContactsByIds(ids));
+        }
+        if (cursor == null && size == null && name == null && phone == null) {
+            // Version before data: a racing write can only make the client download once more, never miss a change
+            String etag = contactVersions.collectionETag();
+            if (etag == null) {
+                return ResponseEntity.ok(addressBookService.getAllContacts());
+            }
+            if (webRequest.checkNotModified(etag)) {
+                // 304 without touching the index or serializing the list
+                return null;
+            }
+            return ResponseEntity.ok().eTag(etag).body(addressBookService.getAllContacts());
+        }
+        Sort.Direction direction = Sort.Direction.fromOptionalString(sort)
+                .orElseThrow(() -> new AddressBookException("Unknown sort '" + sort + "', use asc or desc"));
+        ContactPageDTO page = addressBookService.getContactsPage(cursor, size != null ? size : DEFAULT_PAGE_SIZE, name, phone, direction);
+        return ResponseEntity.ok(page);
+    }
+
+    // Same as GET ?ids= for id lists too long for a query string
+    @PostMapping("/lookup")
+    public ResponseEntity<List<AddressBook>> lookupContacts(@RequestBody List<Integer> ids) {
+        return ResponseEntity.ok(addressBookService.getContactsByIds(ids));
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportContacts(@RequestParam(defaultValue = "ndjson") String format,
+                                                                HttpServletRequest request) {
+        ContactExportService.ExportFormat exportFormat;
+        if ("ndjson".equalsIgnoreCase(format)) {
+            exportFormat = ContactExportService.ExportFormat.NDJSON;
+        } else if ("csv".equalsIgnoreCase(format)) {
+            exportFormat = ContactExportService.ExportFormat.CSV;
+        } else {
+            throw new AddressBookException("Unknown export format '" + format + "', use ndjson or csv");
+        }
+        MediaType contentType = exportFormat == ContactExportService.ExportFormat.CSV
+                ? MediaType.parseMediaType("text/csv")
+                : MediaType.APPLICATION_NDJSON;
+
+        // An export runs for as long as the table takes to read, so it gets its own async timeout
+        // instead of the short default every other async request keeps
+        WebAsyncUtils.getAsyncManager(request).getAsyncWebRequest().setTimeout(exportTimeout.toMillis());
+        // Rows are written from the async thread while the transaction is still open
+        StreamingResponseBody body = out -> contactExportService.exportContacts(out, exportFormat);
+        return ResponseEntity.ok()
+                .contentType(contentType)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"contacts." + exportFormat.name().toLowerCase() + "\"")
+                .body(body);
     }
 
+    @GetMapping("/search")
+    public ResponseEntity<List<AddressBook>> searchContacts(@RequestParam("q") String query,
+                                                            @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(addressBookService.searchContacts(query, limit));
+    }
+
+    // Delta sync: omit since for the first download, then pass the nextToken of the previous response
+    @GetMapping("/changes")
+    public ResponseEntity<ContactChangesDTO> getChanges(@RequestParam(required = false) String since,
+                                                        @RequestParam(defaultValue = "500") int limit) {
+        return ResponseEntity.ok(addressBookService.getChangesSince(since, limit));
+    }
+
+    @GetMapping("/by-phone/{phone}")
+    public ResponseEntity<?> getContactByPhone(@PathVariable String phone) {
+        if (!phone.matches("^[0-9]{10}$")) {
+            return ResponseEntity.badRequest().body(List.of("phone: Phone number must be exactly 10 digits"));
+        }
+        return addressBookService.getContactByPhone(phone)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    // Served from the caches; a matching If-None-Match gets a 304 and the body is never serialized
     @GetMapping("/{id}")
     public ResponseEntity<AddressBook> getContactById(@PathVariable int id) {
         return addressBookService.getContactById(id)
-                .map(ResponseEntity::ok)
+                .map(contact -> ResponseEntity.ok().eTag(ContactVersions.etag(contact)).body(contact))
                 .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
@@ -47,6 +160,28 @@ public class AddressBookController {
         return ResponseEntity.ok(addressBookService.addContact(addressBookDTO));
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<?> addContacts(@RequestBody List<AddressBookDTO> addressBookDTOs) {
+        if (addressBookDTOs.isEmpty() || addressBookDTOs.size() > MAX_BATCH_SIZE) {
+            return ResponseEntity.badRequest().body(List.of("Batch must contain between 1 and " + MAX_BATCH_SIZE + " contacts"));
+        }
+        // Validate the whole batch up front so nothing is written when any entry is invalid
+        List<String> errors = new ArrayList<>();
+        for (int i = 0; i < addressBookDTOs.size(); i++) {
+            if (addressBookDTOs.get(i) == null) {
+                errors.add("[" + i + "] contact must not be null");
+                continue;
+            }
+            for (ConstraintViolation<AddressBookDTO> violation : validator.validate(addressBookDTOs.get(i))) {
+                errors.add("[" + i + "] " + violation.getPropertyPath() + ": " + violation.getMessage());
+            }
+        }
+        if (!errors.isEmpty()) {
+            return ResponseEntity.badRequest().body(errors);
+        }
+        return ResponseEntity.ok(addressBookService.addContacts(addressBookDTOs));
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<?> updateContact(@PathVariable int id, @Valid @RequestBody AddressBookDTO addressBookDTO, BindingResult result) {
         if (result.hasErrors()) {
@@ -5,12 +5,14 @@ import com.AddressBookAppMain.AddressBook.DTO.ForgotPasswordDTO;
 import com.AddressBookAppMain.AddressBook.DTO.LoginRequestDTO;
 import com.AddressBookAppMain.AddressBook.DTO.LoginResponseDTO;
 import com.AddressBookAppMain.AddressBook.DTO.UserDTO;
+import com.AddressBookAppMain.AddressBook.Security.LoginRateLimiter;
 import com.AddressBookAppMain.AddressBook.Services.AuthService;
-import com.AddressBookAppMain.AddressBook.Services.EmailService;
+import com.AddressBookAppMain.AddressBook.Services.EmailOutbox;
 import com.AddressBookAppMain.AddressBook.Services.RabbitMQProducer;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.mail.MessagingException;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -27,16 +29,19 @@ import java.util.Map;
 public class AuthController {
 
     private final AuthService authService;
-    private final EmailService emailService;
+    private final EmailOutbox emailOutbox;
 
-    public AuthController(AuthService authService, EmailService emailService) {
+    public AuthController(AuthService authService, EmailOutbox emailOutbox) {
         this.authService = authService;
-        this.emailService = emailService;
+        this.emailOutbox = emailOutbox;
     }
 
     @Autowired
     private RabbitMQProducer rabbitMQProducer;
 
+    @Autowired
+    private LoginRateLimiter loginRateLimiter;
+
     @Operation(summary = "Send a message to RabbitMQ", description = "Publishes a message to RabbitMQ for testing purposes.")
     @PostMapping("/send-message")
     public ResponseEntity<String> sendMessage(@RequestBody String message) {
@@ -49,15 +54,18 @@ public class AuthController {
     public ResponseEntity<String> registerUser(@RequestBody UserDTO userDTO) {
         log.info("Registering user: {}", userDTO.getUsername());
         String response = authService.registerUser(userDTO);
-        emailService.sendRegistrationEmail(userDTO.getEmail());
+        emailOutbox.enqueueRegistrationEmail(userDTO.getEmail());
         log.info("User registered successfully: {}", userDTO.getEmail());
         return ResponseEntity.ok(response);
     }
 
     @Operation(summary = "User login", description = "Authenticates the user and returns a JWT token.")
     @PostMapping(value = "/login", produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<LoginResponseDTO> loginUser(@RequestBody LoginRequestDTO loginRequestDTO) throws MessagingException {
+    public ResponseEntity<LoginResponseDTO> loginUser(@RequestBody LoginRequestDTO loginRequestDTO, HttpServletRequest request) throws MessagingException {
         log.info("Login request received for email: {}", loginRequestDTO.getEmail());
+        // The client address from X-Forwarded-For when the request came through a trusted proxy
+        // (server.forward-headers-strategy and server.tomcat.remoteip.internal-proxies)
+        loginRateLimiter.checkLogin(loginRequestDTO.getEmail(), request.getRemoteAddr());
         LoginResponseDTO response = authService.loginUser(loginRequestDTO);
         log.debug("Generated JWT Token: {}", response.getToken());
         return ResponseEntity.ok(response);
@@ -96,11 +104,13 @@ public class AuthController {
 
     @Operation(summary = "Reset password", description = "Allows authenticated users to change their password.")
     @PutMapping("/resetPassword/{email}")
-    public ResponseEntity<String> resetPassword(@PathVariable String email, @RequestBody Map<String, String> request) {
+    public ResponseEntity<String> resetPassword(@PathVariable String email, @RequestBody Map<String, String> request,
+                                                HttpServletRequest httpRequest) {
         String oldPassword = request.get("oldPassword");
         String newPassword = request.get("newPassword");
 
         log.info("Processing password reset request for email: {}", email);
+        loginRateLimiter.checkPasswordReset(email, httpRequest.getRemoteAddr());
         try {
             boolean isUpdated = authService.resetPassword(email, oldPassword, newPassword);
             if (!isUpdated) {
@@ -0,0 +1,22 @@
+package com.AddressBookAppMain.AddressBook.DTO;
+
+import com.AddressBookAppMain.AddressBook.Entity.AddressBook;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ContactChangesDTO {
+    // Contacts inserted or updated since the token, in change order
+    private List<AddressBook> upserted;
+    // Ids of contacts deleted since the token
+    private List<Integer> deleted;
+    // Opaque position to pass as since on the next sync
+    private String nextToken;
+    // More changes are waiting; sync again right away with nextToken
+    private boolean hasMore;
+}
@@ -0,0 +1,19 @@
+package com.AddressBookAppMain.AddressBook.DTO;
+
+import com.AddressBookAppMain.AddressBook.Entity.AddressBook;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ContactPageDTO {
+    private List<AddressBook> contacts;
+    // Opaque token for the next page, null on the last page
+    private String nextCursor;
+}
@@ -0,0 +1,15 @@
+package com.AddressBookAppMain.AddressBook.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// An email waiting in the outbox queue; the body is HTML, as with EmailService.sendEmail
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmailJobDTO {
+    private String to;
+    private String subject;
+    private String body;
+}
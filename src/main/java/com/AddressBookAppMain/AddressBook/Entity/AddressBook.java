@@ -1,11 +1,25 @@
 package com.AddressBookAppMain.AddressBook.Entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.SQLDelete;
+import org.hibernate.annotations.SQLRestriction;
+
+import java.time.LocalDateTime;
 
 @Entity
 @Data// Lombok generates getters, setters, toString, equals, and hashCode
-@Table(name = "address_book")
+@Table(name = "address_book", indexes = {
+        // Name/phone prefix filters of the paged listing become index range scans instead of table scans
+        @Index(name = "idx_address_book_name", columnList = "name"),
+        @Index(name = "idx_address_book_phone", columnList = "phone"),
+        // Change feed position (updated_at, id); also finds old tombstones for compaction
+        @Index(name = "idx_address_book_updated_at", columnList = "updated_at, id")
+})
+// Deletes leave a tombstone for delta sync; every JPA read skips tombstones
+@SQLDelete(sql = "UPDATE address_book SET deleted = TRUE WHERE id = ?")
+@SQLRestriction("deleted = FALSE")
 public class AddressBook {
 
     @Id
@@ -15,4 +29,16 @@ public class AddressBook {
     private String name;
     private String phone;
     private String address;
-}
\ No newline at end of file
+
+    // Both maintained by MySQL, so the JDBC batch paths and the reactive app keep them right too.
+    // Not part of the API or the Redis encoding; the change feed reads them with plain JDBC.
+    @JsonIgnore
+    @Column(name = "updated_at", nullable = false, insertable = false, updatable = false,
+            columnDefinition = "DATETIME(6) DEFAULT CURRENT_TIMESTAMP(6) ON UPDATE CURRENT_TIMESTAMP(6)")
+    private LocalDateTime updatedAt;
+
+    @JsonIgnore
+    @Column(name = "deleted", nullable = false, insertable = false, updatable = false,
+            columnDefinition = "BOOLEAN DEFAULT FALSE")
+    private boolean deleted;
+}
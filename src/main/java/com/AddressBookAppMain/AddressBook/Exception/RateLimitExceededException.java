@@ -0,0 +1,17 @@
+package com.AddressBookAppMain.AddressBook.Exception;
+
+// Thrown for throttled requests; mapped to 429 with Retry-After
+public class RateLimitExceededException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public RateLimitExceededException(String message, long retryAfterSeconds) {
+        // No stack trace: these are expected under attack and must stay cheap
+        super(message, null, false, false);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
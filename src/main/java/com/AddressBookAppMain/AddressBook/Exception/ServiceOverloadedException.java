@@ -0,0 +1,8 @@
+package com.AddressBookAppMain.AddressBook.Exception;
+
+// Thrown when a bounded resource (e.g. the password hashing pool) sheds load or is not available yet; mapped to 503
+public class ServiceOverloadedException extends RuntimeException {
+    public ServiceOverloadedException(String message) {
+        super(message);
+    }
+}
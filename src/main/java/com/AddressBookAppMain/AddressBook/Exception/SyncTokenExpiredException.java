@@ -0,0 +1,8 @@
+package com.AddressBookAppMain.AddressBook.Exception;
+
+// Thrown for a delta-sync token older than the tombstone retention; mapped to 410, the client must sync from scratch
+public class SyncTokenExpiredException extends RuntimeException {
+    public SyncTokenExpiredException(String message) {
+        super(message);
+    }
+}
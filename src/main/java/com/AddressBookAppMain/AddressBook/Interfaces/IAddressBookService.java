@@ -1,15 +1,24 @@
 package com.AddressBookAppMain.AddressBook.Interfaces;
 
 import com.AddressBookAppMain.AddressBook.DTO.AddressBookDTO;
+import com.AddressBookAppMain.AddressBook.DTO.ContactChangesDTO;
+import com.AddressBookAppMain.AddressBook.DTO.ContactPageDTO;
 import com.AddressBookAppMain.AddressBook.Entity.AddressBook;
+import org.springframework.data.domain.Sort;
 
 import java.util.List;
 import java.util.Optional;
 
 public interface IAddressBookService {
     List<AddressBook> getAllContacts();
+    ContactPageDTO getContactsPage(String cursor, int size, String namePrefix, String phonePrefix, Sort.Direction direction);
+    List<AddressBook> searchContacts(String query, int limit);
     Optional<AddressBook> getContactById(int id);
+    List<AddressBook> getContactsByIds(List<Integer> ids);
+    Optional<AddressBook> getContactByPhone(String phone);
+    ContactChangesDTO getChangesSince(String token, int limit);
     AddressBook addContact(AddressBookDTO addressBookDTO);
+    List<AddressBook> addContacts(List<AddressBookDTO> addressBookDTOs);
     Optional<AddressBook> updateContact(int id, AddressBookDTO addressBookDTO);
     boolean deleteContact(int id);
 }
@@ -0,0 +1,14 @@
+package com.AddressBookAppMain.AddressBook.Repository;
+
+import com.AddressBookAppMain.AddressBook.Entity.AddressBook;
+
+import java.util.List;
+
+public interface AddressBookBatchRepository {
+
+    // Inserts the contacts with JDBC batches and fills in their generated ids
+    List<AddressBook> batchInsert(List<AddressBook> contacts);
+
+    // Overwrites name, phone and address of existing rows in one transaction; missing and deleted ids are skipped
+    void batchUpdate(List<AddressBook> contacts);
+}
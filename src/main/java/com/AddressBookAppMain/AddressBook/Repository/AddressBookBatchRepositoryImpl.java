@@ -0,0 +1,64 @@
+package com.AddressBookAppMain.AddressBook.Repository;
+
+import com.AddressBookAppMain.AddressBook.Entity.AddressBook;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.List;
+
+// Hibernate disables insert batching for IDENTITY ids, so bulk inserts bypass the session and go
+// through plain JDBC. With rewriteBatchedStatements=true each chunk becomes one multi-row INSERT,
+// and Connector/J still reports every generated key.
+public class AddressBookBatchRepositoryImpl implements AddressBookBatchRepository {
+
+    private static final String INSERT_SQL = "INSERT INTO address_book (name, phone, address) VALUES (?, ?, ?)";
+    // A change queued before the contact was deleted must not rewrite its tombstone
+    private static final String UPDATE_SQL = "UPDATE address_book SET name = ?, phone = ?, address = ? WHERE id = ? AND deleted = FALSE";
+    private static final int BATCH_SIZE = 1000;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    @Transactional
+    public List<AddressBook> batchInsert(List<AddressBook> contacts) {
+        return jdbcTemplate.execute((ConnectionCallback<List<AddressBook>>) connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
+                for (int from = 0; from < contacts.size(); from += BATCH_SIZE) {
+                    List<AddressBook> chunk = contacts.subList(from, Math.min(from + BATCH_SIZE, contacts.size()));
+                    for (AddressBook contact : chunk) {
+                        statement.setString(1, contact.getName());
+                        statement.setString(2, contact.getPhone());
+                        statement.setString(3, contact.getAddress());
+                        statement.addBatch();
+                    }
+                    statement.executeBatch();
+
+                    try (ResultSet keys = statement.getGeneratedKeys()) {
+                        int i = 0;
+                        while (keys.next() && i < chunk.size()) {
+                            chunk.get(i++).setId(keys.getInt(1));
+                        }
+                    }
+                }
+            }
+            return contacts;
+        });
+    }
+
+    @Override
+    @Transactional
+    public void batchUpdate(List<AddressBook> contacts) {
+        jdbcTemplate.batchUpdate(UPDATE_SQL, contacts, BATCH_SIZE, (statement, contact) -> {
+            statement.setString(1, contact.getName());
+            statement.setString(2, contact.getPhone());
+            statement.setString(3, contact.getAddress());
+            statement.setInt(4, contact.getId());
+        });
+    }
+}
@@ -0,0 +1,18 @@
+package com.AddressBookAppMain.AddressBook.Repository;
+
+import com.AddressBookAppMain.AddressBook.Entity.AddressBook;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface AddressBookChangeRepository {
+
+    // Database clock, the only clock updated_at positions may be compared with
+    LocalDateTime currentTimestamp();
+
+    // Rows, tombstones included, positioned after (updatedAt, id) and changed before until, in feed order
+    List<AddressBook> findChangedAfter(LocalDateTime updatedAt, int id, LocalDateTime until, boolean includeDeleted, int limit);
+
+    // Hard-deletes up to limit tombstones older than before; returns how many were removed
+    int purgeTombstones(LocalDateTime before, int limit);
+}
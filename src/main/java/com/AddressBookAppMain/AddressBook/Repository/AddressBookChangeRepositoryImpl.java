@@ -0,0 +1,49 @@
+package com.AddressBookAppMain.AddressBook.Repository;
+
+import com.AddressBookAppMain.AddressBook.Entity.AddressBook;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Plain JDBC because the entity's @SQLRestriction hides tombstones from every JPA query,
+// and the change feed has to see them.
+public class AddressBookChangeRepositoryImpl implements AddressBookChangeRepository {
+
+    // (updated_at, id) > (?, ?) spelled out so MySQL can range-scan idx_address_book_updated_at in order
+    private static final String CHANGES_SQL = "SELECT id, name, phone, address, updated_at, deleted FROM address_book "
+            + "WHERE updated_at >= ? AND (updated_at > ? OR id > ?) AND updated_at < ? %s ORDER BY updated_at, id LIMIT ?";
+    private static final String PURGE_SQL = "DELETE FROM address_book WHERE deleted = TRUE AND updated_at < ? LIMIT ?";
+
+    private static final RowMapper<AddressBook> ROW_MAPPER = (rs, rowNum) -> {
+        AddressBook contact = new AddressBook();
+        contact.setId(rs.getInt("id"));
+        contact.setName(rs.getString("name"));
+        contact.setPhone(rs.getString("phone"));
+        contact.setAddress(rs.getString("address"));
+        contact.setUpdatedAt(rs.getObject("updated_at", LocalDateTime.class));
+        contact.setDeleted(rs.getBoolean("deleted"));
+        return contact;
+    };
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public LocalDateTime currentTimestamp() {
+        return jdbcTemplate.queryForObject("SELECT NOW(6)", LocalDateTime.class);
+    }
+
+    @Override
+    public List<AddressBook> findChangedAfter(LocalDateTime updatedAt, int id, LocalDateTime until, boolean includeDeleted, int limit) {
+        String sql = String.format(CHANGES_SQL, includeDeleted ? "" : "AND deleted = FALSE");
+        return jdbcTemplate.query(sql, ROW_MAPPER, updatedAt, updatedAt, id, until, limit);
+    }
+
+    @Override
+    public int purgeTombstones(LocalDateTime before, int limit) {
+        return jdbcTemplate.update(PURGE_SQL, before, limit);
+    }
+}
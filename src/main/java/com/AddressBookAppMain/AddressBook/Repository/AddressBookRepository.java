@@ -1,9 +1,44 @@
 package com.AddressBookAppMain.AddressBook.Repository;
 
 import com.AddressBookAppMain.AddressBook.Entity.AddressBook;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
 @Repository
-public interface AddressBookRepository extends JpaRepository<AddressBook, Integer> {
-}
\ No newline at end of file
+public interface AddressBookRepository extends JpaRepository<AddressBook, Integer>, AddressBookBatchRepository,
+        AddressBookChangeRepository {
+
+    // Keyset pages: the Pageable only carries the page size, the position comes from the last seen id
+    List<AddressBook> findByIdGreaterThanOrderByIdAsc(int id, Pageable pageable);
+    List<AddressBook> findByIdLessThanOrderByIdDesc(int id, Pageable pageable);
+
+    List<AddressBook> findByIdGreaterThanAndNameStartingWithOrderByIdAsc(int id, String namePrefix, Pageable pageable);
+    List<AddressBook> findByIdLessThanAndNameStartingWithOrderByIdDesc(int id, String namePrefix, Pageable pageable);
+
+    List<AddressBook> findByIdGreaterThanAndPhoneStartingWithOrderByIdAsc(int id, String phonePrefix, Pageable pageable);
+    List<AddressBook> findByIdLessThanAndPhoneStartingWithOrderByIdDesc(int id, String phonePrefix, Pageable pageable);
+
+    List<AddressBook> findByIdGreaterThanAndNameStartingWithAndPhoneStartingWithOrderByIdAsc(int id, String namePrefix, String phonePrefix, Pageable pageable);
+    List<AddressBook> findByIdLessThanAndNameStartingWithAndPhoneStartingWithOrderByIdDesc(int id, String namePrefix, String phonePrefix, Pageable pageable);
+
+    Optional<AddressBook> findFirstByPhoneOrderByIdDesc(String phone);
+
+    // Full-table cursor for exports. Integer.MIN_VALUE is the MySQL Connector/J signal to stream rows
+    // one at a time instead of buffering the whole result set in the driver. Must be consumed inside
+    // a transaction and closed.
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select a from AddressBook a order by a.id")
+    Stream<AddressBook> streamAllByOrderByIdAsc();
+}
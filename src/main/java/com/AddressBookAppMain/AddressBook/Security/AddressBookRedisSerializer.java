@@ -0,0 +1,45 @@
+package com.AddressBookAppMain.AddressBook.Security;
+
+import com.AddressBookAppMain.AddressBook.Entity.AddressBook;
+
+/**
+ * The shared contact encoding (ContactRedisSerializer in the common module) over the JPA entity.
+ * The reactive app maps the same bytes onto its R2DBC entity; AddressBookRedisSerializerTest in
+ * both apps pins them.
+ */
+public class AddressBookRedisSerializer extends ContactRedisSerializer<AddressBook> {
+
+    public AddressBookRedisSerializer() {
+        super(AddressBook.class);
+    }
+
+    @Override
+    protected int id(AddressBook contact) {
+        return contact.getId();
+    }
+
+    @Override
+    protected String name(AddressBook contact) {
+        return contact.getName();
+    }
+
+    @Override
+    protected String phone(AddressBook contact) {
+        return contact.getPhone();
+    }
+
+    @Override
+    protected String address(AddressBook contact) {
+        return contact.getAddress();
+    }
+
+    @Override
+    protected AddressBook newContact(int id, String name, String phone, String address) {
+        AddressBook contact = new AddressBook();
+        contact.setId(id);
+        contact.setName(name);
+        contact.setPhone(phone);
+        contact.setAddress(address);
+        return contact;
+    }
+}
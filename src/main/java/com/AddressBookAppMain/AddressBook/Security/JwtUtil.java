@@ -1,18 +1,36 @@
 package com.AddressBookAppMain.AddressBook.Security;
 
 import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTVerifier;
 import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
 import java.util.Date;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 @Component
-public class JwtUtil {
+public class JwtUtil implements MessageListener {
+
+    // Published with the user's email whenever their stored token is replaced
+    public static final String REVOCATION_CHANNEL = "JWT_TOKEN:Revoked";
 
     @Value("${jwt.secret}")
     private String secretKey;
@@ -20,27 +38,75 @@ public class JwtUtil {
     @Value("${jwt.expiration}")
     private long expirationTime;
 
+    @Value("${jwt.verified-cache.max-size:100000}")
+    private long verifiedCacheMaxSize;
+
+    @Value("${jwt.verified-cache.max-ttl:5m}")
+    private Duration verifiedCacheMaxTtl;
+
     @Autowired
     private RedisTemplate<String, String> redisTemplate;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // Both are immutable and thread-safe, so build them once
+    private Algorithm algorithm;
+    private JWTVerifier verifier;
+
+    // email -> digest of the token Redis last confirmed for it, kept no longer than the token lives
+    private Cache<String, VerifiedToken> verifiedTokens;
+
+    // Bumped on every revocation so a Redis read that raced with one is not cached
+    private final AtomicLong revocations = new AtomicLong();
+
+    @PostConstruct
+    public void init() {
+        algorithm = Algorithm.HMAC256(secretKey);
+        verifier = JWT.require(algorithm).build();
+        verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(verifiedCacheMaxSize)
+                .recordStats()
+                .expireAfter(new Expiry<String, VerifiedToken>() {
+                    @Override
+                    public long expireAfterCreate(String email, VerifiedToken token, long currentTime) {
+                        long untilExpiry = TimeUnit.MILLISECONDS.toNanos(token.expiresAt - System.currentTimeMillis());
+                        return Math.max(0, Math.min(untilExpiry, verifiedCacheMaxTtl.toNanos()));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String email, VerifiedToken token, long currentTime, long currentDuration) {
+                        return expireAfterCreate(email, token, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String email, VerifiedToken token, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+        // Hit ratio here is the share of token checks that skipped Redis
+        CaffeineCacheMetrics.monitor(meterRegistry, verifiedTokens, "jwt-verified-tokens");
+    }
+
     // Generate Token and Store in Redis
     public String generateToken(String email) {
         String token = JWT.create()
                 .withSubject(email)
                 .withExpiresAt(new Date(System.currentTimeMillis() + expirationTime))
-                .sign(Algorithm.HMAC256(secretKey));
+                .sign(algorithm);
 
         redisTemplate.opsForValue().set("JWT_TOKEN:" + email, token, expirationTime, TimeUnit.MILLISECONDS);
+        // The previous token for this email is no longer valid on any node
+        revoke(email);
+        redisTemplate.convertAndSend(REVOCATION_CHANNEL, email);
         return token;
     }
 
     // Get Email from Token
     public String getEmailFromToken(String token) {
         try {
-            return JWT.require(Algorithm.HMAC256(secretKey))
-                    .build()
-                    .verify(token)
-                    .getSubject();
+            return verifier.verify(token).getSubject();
         } catch (Exception e) {
             return null;
         }
@@ -51,9 +117,69 @@ public class JwtUtil {
         return redisTemplate.opsForValue().get("JWT_TOKEN:" + email);
     }
 
-    // ✅ Validate Token
+    // ✅ Validate Token: answered locally when this token was already confirmed against Redis
     public boolean isTokenValid(String email, String token) {
+        byte[] digest = digest(token);
+        VerifiedToken cached = verifiedTokens.getIfPresent(email);
+        if (cached != null && MessageDigest.isEqual(cached.digest, digest)) {
+            return true;
+        }
+
+        long revocationsBefore = revocations.get();
         String storedToken = getStoredToken(email);
-        return token.equals(storedToken);
+        if (!token.equals(storedToken)) {
+            return false;
+        }
+        if (revocations.get() == revocationsBefore) {
+            DecodedJWT decoded = JWT.decode(token);
+            if (decoded.getExpiresAt() != null) {
+                verifiedTokens.put(email, new VerifiedToken(digest, decoded.getExpiresAt().getTime()));
+            }
+        }
+        return true;
+    }
+
+    // Signs and verifies throwaway tokens so the HMAC, JSON and Base64 code is compiled before the
+    // first real login. Touches neither Redis nor the verified-token cache.
+    public void warmUp(int iterations) {
+        for (int i = 0; i < iterations; i++) {
+            String token = JWT.create()
+                    .withSubject("warmup-" + i + "@localhost")
+                    .withExpiresAt(new Date(System.currentTimeMillis() + expirationTime))
+                    .sign(algorithm);
+            if (getEmailFromToken(token) == null) {
+                throw new IllegalStateException("Freshly signed warm-up token did not verify");
+            }
+            digest(token);
+            JWT.decode(token).getExpiresAt();
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        revoke(new String(message.getBody(), StandardCharsets.UTF_8));
+    }
+
+    private void revoke(String email) {
+        revocations.incrementAndGet();
+        verifiedTokens.invalidate(email);
+    }
+
+    private static byte[] digest(String token) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static final class VerifiedToken {
+        private final byte[] digest;
+        private final long expiresAt;
+
+        private VerifiedToken(byte[] digest, long expiresAt) {
+            this.digest = digest;
+            this.expiresAt = expiresAt;
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,137 @@
+package com.AddressBookAppMain.AddressBook.Security;
+
+import com.AddressBookAppMain.AddressBook.Exception.RateLimitExceededException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.scripting.support.ResourceScriptSource;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Per-email and per-IP token buckets for the password endpoints.
+ * The shared bucket lives in Redis and is updated by an atomic Lua script. In front of it sits a
+ * local bucket with the same settings: it only sees this node's traffic, so whenever it is empty
+ * the shared one is empty too, and such requests are rejected without touching Redis or BCrypt.
+ */
+@Slf4j
+@Component
+public class LoginRateLimiter {
+
+    private static final String KEY_PREFIX = "RateLimit:";
+    private static final int STRIPES = 64;
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final DefaultRedisScript<List> tokenBucketScript = new DefaultRedisScript<>();
+    private final BucketSpec emailSpec;
+    private final BucketSpec ipSpec;
+
+    private final Cache<String, LocalBucket> localBuckets = Caffeine.newBuilder()
+            .maximumSize(100_000)
+            .expireAfterAccess(Duration.ofMinutes(10))
+            .build();
+    private final ReentrantLock[] stripes = new ReentrantLock[STRIPES];
+
+    public LoginRateLimiter(StringRedisTemplate stringRedisTemplate,
+                            @Value("${addressbook.ratelimit.email.capacity:5}") int emailCapacity,
+                            @Value("${addressbook.ratelimit.email.refill-per-minute:5}") int emailRefillPerMinute,
+                            @Value("${addressbook.ratelimit.ip.capacity:30}") int ipCapacity,
+                            @Value("${addressbook.ratelimit.ip.refill-per-minute:30}") int ipRefillPerMinute) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.emailSpec = new BucketSpec(emailCapacity, emailRefillPerMinute);
+        this.ipSpec = new BucketSpec(ipCapacity, ipRefillPerMinute);
+        tokenBucketScript.setScriptSource(new ResourceScriptSource(new ClassPathResource("scripts/token_bucket.lua")));
+        tokenBucketScript.setResultType(List.class);
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    public void checkLogin(String email, String ip) {
+        check("login:ip:" + ip, ipSpec);
+        check("login:email:" + normalize(email), emailSpec);
+    }
+
+    public void checkPasswordReset(String email, String ip) {
+        check("reset:ip:" + ip, ipSpec);
+        check("reset:email:" + normalize(email), emailSpec);
+    }
+
+    private void check(String key, BucketSpec spec) {
+        long localRetryMs = consumeLocal(key, spec);
+        if (localRetryMs > 0) {
+            throw rejected(localRetryMs);
+        }
+
+        List<?> result;
+        try {
+            result = stringRedisTemplate.execute(tokenBucketScript, List.of(KEY_PREFIX + key),
+                    String.valueOf(spec.capacity), spec.refillPerMsArg);
+        } catch (DataAccessException e) {
+            // Fail open on the shared limit; the local bucket still caps this node
+            log.warn("Rate limiter unavailable, allowing {}: {}", key, e.getMessage());
+            return;
+        }
+        if (result != null && result.size() == 2 && ((Number) result.get(0)).longValue() == 0L) {
+            throw rejected(((Number) result.get(1)).longValue());
+        }
+    }
+
+    private long consumeLocal(String key, BucketSpec spec) {
+        LocalBucket bucket = localBuckets.get(key, k -> new LocalBucket(spec.capacity));
+        ReentrantLock lock = stripes[(key.hashCode() & 0x7fffffff) % STRIPES];
+        lock.lock();
+        try {
+            long now = System.nanoTime();
+            bucket.tokens = Math.min(spec.capacity, bucket.tokens + (now - bucket.lastRefill) / 1_000_000.0 * spec.refillPerMs);
+            bucket.lastRefill = now;
+            if (bucket.tokens >= 1) {
+                bucket.tokens -= 1;
+                return 0;
+            }
+            return (long) Math.ceil((1 - bucket.tokens) / spec.refillPerMs);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static RateLimitExceededException rejected(long retryAfterMs) {
+        long seconds = Math.max(1, (retryAfterMs + 999) / 1000);
+        return new RateLimitExceededException("Too many attempts, please retry later.", seconds);
+    }
+
+    private static String normalize(String email) {
+        return email == null ? "" : email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static final class BucketSpec {
+        private final int capacity;
+        private final double refillPerMs;
+        private final String refillPerMsArg;
+
+        private BucketSpec(int capacity, int refillPerMinute) {
+            this.capacity = capacity;
+            this.refillPerMs = refillPerMinute / 60_000.0;
+            this.refillPerMsArg = BigDecimal.valueOf(refillPerMs).toPlainString();
+        }
+    }
+
+    private static final class LocalBucket {
+        private double tokens;
+        private long lastRefill = System.nanoTime();
+
+        private LocalBucket(int capacity) {
+            this.tokens = capacity;
+        }
+    }
+}
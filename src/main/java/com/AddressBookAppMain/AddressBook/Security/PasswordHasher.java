@@ -0,0 +1,122 @@
+package com.AddressBookAppMain.AddressBook.Security;
+
+import com.AddressBookAppMain.AddressBook.Exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs BCrypt encode/match on a small CPU-sized pool instead of on Tomcat threads.
+ * The queue is bounded: when it is full, or a job waits longer than the timeout, the caller gets
+ * a ServiceOverloadedException (503) straight away, so a login burst cannot starve other endpoints.
+ */
+@Slf4j
+@Component
+public class PasswordHasher implements DisposableBean {
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final long timeoutMs;
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Counter rejections;
+
+    public PasswordHasher(PasswordEncoder passwordEncoder,
+                          MeterRegistry meterRegistry,
+                          @Value("${addressbook.security.hashing.threads:0}") int threads,
+                          @Value("${addressbook.security.hashing.queue-capacity:64}") int queueCapacity,
+                          @Value("${addressbook.security.hashing.timeout:5s}") Duration timeout) {
+        this.passwordEncoder = passwordEncoder;
+        this.timeoutMs = timeout.toMillis();
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "bcrypt-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        // BCrypt CPU time per call, excluding the wait in the queue (that shows up in executor.queued)
+        this.encodeTimer = bcryptTimer(meterRegistry, "encode");
+        this.matchesTimer = bcryptTimer(meterRegistry, "matches");
+        this.rejections = Counter.builder("addressbook.security.bcrypt.rejected")
+                .description("Hashing requests turned away with a 503 because the pool was saturated")
+                .register(meterRegistry);
+        new ExecutorServiceMetrics(executor, "bcrypt", Tags.empty()).bindTo(meterRegistry);
+        log.info("Password hashing pool: {} threads, queue capacity {}", poolSize, queueCapacity);
+    }
+
+    public String encode(CharSequence rawPassword) {
+        return run(() -> encodeTimer.recordCallable(() -> passwordEncoder.encode(rawPassword)));
+    }
+
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run(() -> matchesTimer.recordCallable(() -> passwordEncoder.matches(rawPassword, encodedPassword)));
+    }
+
+    // True when the stored hash uses a lower cost than the one currently configured
+    public boolean upgradeEncoding(String encodedPassword) {
+        return passwordEncoder.upgradeEncoding(encodedPassword);
+    }
+
+    private <T> T run(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            rejections.increment();
+            log.warn("Password hashing queue full, rejecting request");
+            throw new ServiceOverloadedException("Too many authentication requests, please retry shortly.");
+        }
+        try {
+            return future.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            rejections.increment();
+            log.warn("Password hashing timed out after {} ms", timeoutMs);
+            throw new ServiceOverloadedException("Too many authentication requests, please retry shortly.");
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while hashing password", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    private static Timer bcryptTimer(MeterRegistry registry, String operation) {
+        return Timer.builder("addressbook.security.bcrypt")
+                .description("BCrypt time per call")
+                .tag("operation", operation)
+                .register(registry);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
@@ -1,18 +1,140 @@
 package com.AddressBookAppMain.AddressBook.Security;
 
+import org.springframework.amqp.core.Declarable;
+import org.springframework.amqp.core.Declarables;
+import org.springframework.amqp.core.QueueBuilder;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 import org.springframework.amqp.core.Queue;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
 
 @Configuration
 public class RabbitMQConfig {
 
-    private static final String QUEUE_NAME = "addressbook_queue";
+    // Test messages from /auth/send-message
+    public static final String CONTACT_QUEUE = "addressbook_queue";
+
+    public static final String EMAIL_QUEUE = "addressbook_email_queue";
+    public static final String EMAIL_RETRY_QUEUE = "addressbook_email_queue.retry";
+    public static final String EMAIL_DEAD_LETTER_QUEUE = "addressbook_email_queue.dlq";
+
+    // Write-behind contact changes, partitioned by contact id; records that cannot be written are parked on the DLQ
+    public static final String CONTACT_CHANGES_QUEUE_PREFIX = "addressbook_contact_changes.";
+    public static final String CONTACT_CHANGES_DEAD_LETTER_QUEUE = "addressbook_contact_changes.dlq";
+
+    public static String contactChangeQueue(int partition) {
+        return CONTACT_CHANGES_QUEUE_PREFIX + partition;
+    }
 
     @Bean
     public Queue queue() {
-        return new Queue(QUEUE_NAME, true);
+        return new Queue(CONTACT_QUEUE, true);
+    }
+
+    // Outbox for transactional emails; jobs that exhaust their retries are parked on the DLQ
+    @Bean
+    public Queue emailQueue() {
+        return QueueBuilder.durable(EMAIL_QUEUE)
+                .deadLetterExchange("")
+                .deadLetterRoutingKey(EMAIL_DEAD_LETTER_QUEUE)
+                .build();
+    }
+
+    // Failed sends wait here for retry-delay and then expire back onto the email queue, so a slow
+    // SMTP server never holds a worker thread in a backoff sleep
+    @Bean
+    public Queue emailRetryQueue(@Value("${addressbook.email.retry-delay:10s}") Duration retryDelay) {
+        return QueueBuilder.durable(EMAIL_RETRY_QUEUE)
+                .ttl((int) retryDelay.toMillis())
+                .deadLetterExchange("")
+                .deadLetterRoutingKey(EMAIL_QUEUE)
+                .build();
+    }
+
+    @Bean
+    public Queue emailDeadLetterQueue() {
+        return QueueBuilder.durable(EMAIL_DEAD_LETTER_QUEUE).build();
+    }
+
+    // Single active consumer per partition: the broker lets one consumer in the cluster read each
+    // queue at a time, so each contact's changes are applied in publish order while the partitions
+    // are flushed in parallel. The partition count must be the same on every node.
+    @Bean
+    public Declarables contactChangeQueues(@Value("${addressbook.write-behind.partitions:4}") int partitions) {
+        List<Declarable> queues = new ArrayList<>();
+        for (int partition = 0; partition < partitions; partition++) {
+            queues.add(QueueBuilder.durable(contactChangeQueue(partition))
+                    .singleActiveConsumer()
+                    .deadLetterExchange("")
+                    .deadLetterRoutingKey(CONTACT_CHANGES_DEAD_LETTER_QUEUE)
+                    .build());
+        }
+        queues.add(QueueBuilder.durable(CONTACT_CHANGES_DEAD_LETTER_QUEUE).build());
+        return new Declarables(queues);
+    }
+
+    @Bean
+    public Jackson2JsonMessageConverter emailMessageConverter() {
+        return new Jackson2JsonMessageConverter();
+    }
+
+    // Dedicated worker pool for SMTP sends. Each worker gets up to batch-size jobs at a time for one
+    // EmailService.sendBatch; EmailWorker moves the failed ones to the retry queue
+    @Bean
+    public SimpleRabbitListenerContainerFactory emailListenerContainerFactory(
+            ConnectionFactory connectionFactory,
+            Jackson2JsonMessageConverter emailMessageConverter,
+            @Value("${addressbook.email.concurrency:2}") int concurrency,
+            @Value("${addressbook.email.max-concurrency:8}") int maxConcurrency,
+            @Value("${addressbook.email.prefetch:10}") int prefetch,
+            @Value("${addressbook.email.batch-size:10}") int batchSize,
+            @Value("${addressbook.email.batch-timeout-ms:100}") long batchTimeoutMs) {
+        SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+        factory.setConnectionFactory(connectionFactory);
+        factory.setMessageConverter(emailMessageConverter);
+        factory.setConcurrentConsumers(concurrency);
+        factory.setMaxConcurrentConsumers(maxConcurrency);
+        factory.setBatchListener(true);
+        factory.setConsumerBatchEnabled(true);
+        factory.setBatchSize(batchSize);
+        // A lone job waits at most this long for others to share its connection
+        factory.setReceiveTimeout(batchTimeoutMs);
+        factory.setPrefetchCount(Math.max(prefetch, batchSize));
+        factory.setDefaultRequeueRejected(false);
+        // spring.rabbit.listener timer per delivery; the factory is built by hand so the property doesn't reach it
+        factory.setObservationEnabled(true);
+        return factory;
+    }
+
+    // Hands RabbitMQConsumer up to batch-size change records of one partition at a time; the batch
+    // is acked once its MySQL transaction commits and requeued if the flush fails
+    @Bean
+    public SimpleRabbitListenerContainerFactory contactChangeListenerContainerFactory(
+            ConnectionFactory connectionFactory,
+            @Value("${addressbook.write-behind.batch-size:500}") int batchSize,
+            @Value("${addressbook.write-behind.batch-timeout-ms:200}") long batchTimeoutMs,
+            @Value("${addressbook.write-behind.prefetch:1000}") int prefetch) {
+        SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+        factory.setConnectionFactory(connectionFactory);
+        factory.setBatchListener(true);
+        factory.setConsumerBatchEnabled(true);
+        factory.setBatchSize(batchSize);
+        factory.setReceiveTimeout(batchTimeoutMs);
+        factory.setPrefetchCount(Math.max(prefetch, batchSize));
+        // One consumer per partition container; parallelism comes from the number of partitions
+        factory.setConcurrentConsumers(1);
+        factory.setMaxConcurrentConsumers(1);
+        factory.setDefaultRequeueRejected(true);
+        factory.setObservationEnabled(true);
+        return factory;
     }
 }
@@ -1,15 +1,17 @@
 package com.AddressBookAppMain.AddressBook.Security;
 
 import com.AddressBookAppMain.AddressBook.Entity.AddressBook;
+import com.AddressBookAppMain.AddressBook.Services.ContactNearCache;
+import com.AddressBookAppMain.AddressBook.Services.ContactPhoneIndex;
+import com.AddressBookAppMain.AddressBook.Services.ContactSearchIndex;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
-import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
-import java.util.List;
-
 @Configuration
 public class RedisConfig {
 
@@ -18,16 +20,24 @@ public class RedisConfig {
         RedisTemplate<String, AddressBook> template = new RedisTemplate<>();
         template.setConnectionFactory(factory);
         template.setKeySerializer(new StringRedisSerializer());
-        template.setValueSerializer(new GenericJackson2JsonRedisSerializer());
+        // Binary contact codec; entries left over in the old JSON format are still readable
+        AddressBookRedisSerializer contactSerializer = new AddressBookRedisSerializer();
+        template.setValueSerializer(contactSerializer);
+        template.setHashKeySerializer(new StringRedisSerializer());
+        template.setHashValueSerializer(contactSerializer);
         return template;
     }
 
     @Bean
-    public RedisTemplate<String, List<AddressBook>> redisListTemplate(RedisConnectionFactory factory) {
-        RedisTemplate<String, List<AddressBook>> template = new RedisTemplate<>();
-        template.setConnectionFactory(factory);
-        template.setKeySerializer(new StringRedisSerializer());
-        template.setValueSerializer(new GenericJackson2JsonRedisSerializer());
-        return template;
+    public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory factory, ContactNearCache contactNearCache,
+                                                                       ContactPhoneIndex contactPhoneIndex, ContactSearchIndex contactSearchIndex,
+                                                                       JwtUtil jwtUtil) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(factory);
+        container.addMessageListener(contactNearCache, new ChannelTopic(ContactNearCache.INVALIDATION_CHANNEL));
+        container.addMessageListener(contactPhoneIndex, new ChannelTopic(ContactPhoneIndex.CHANGE_CHANNEL));
+        container.addMessageListener(contactSearchIndex, new ChannelTopic(ContactSearchIndex.CHANGE_CHANNEL));
+        container.addMessageListener(jwtUtil, new ChannelTopic(JwtUtil.REVOCATION_CHANNEL));
+        return container;
     }
 }
@@ -1,6 +1,7 @@
 package com.AddressBookAppMain.AddressBook.Security;
 
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -27,6 +28,7 @@ public class SecurityConfig {
                                 "/swagger-resources/**",
                                 "/webjars/**"
                         ).permitAll()
+                        .requestMatchers(HttpMethod.GET, "/actuator/health", "/actuator/health/**", "/actuator/prometheus").permitAll()
 
                         //  Permit access to AddressBook APIs
 
@@ -44,8 +46,9 @@ public class SecurityConfig {
         return http.build();
     }
 
+    // Cost factor per deployment; stored hashes with a lower cost are upgraded on the next login
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${addressbook.security.bcrypt.strength:10}") int strength) {
+        return new BCryptPasswordEncoder(strength);
     }
 }
\ No newline at end of file
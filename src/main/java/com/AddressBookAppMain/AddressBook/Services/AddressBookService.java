@@ -1,19 +1,49 @@
 package com.AddressBookAppMain.AddressBook.Services;
 
 import com.AddressBookAppMain.AddressBook.DTO.AddressBookDTO;
+import com.AddressBookAppMain.AddressBook.DTO.ContactChangeDTO;
+import com.AddressBookAppMain.AddressBook.DTO.ContactChangesDTO;
+import com.AddressBookAppMain.AddressBook.DTO.ContactPageDTO;
 import com.AddressBookAppMain.AddressBook.Entity.AddressBook;
+import com.AddressBookAppMain.AddressBook.Exception.AddressBookException;
+import com.AddressBookAppMain.AddressBook.Exception.ServiceOverloadedException;
+import com.AddressBookAppMain.AddressBook.Exception.SyncTokenExpiredException;
 import com.AddressBookAppMain.AddressBook.Interfaces.IAddressBookService;
 import com.AddressBookAppMain.AddressBook.Repository.AddressBookRepository;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.AmqpException;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.redis.core.ListOperations;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.RedisOperations;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.serializer.GenericToStringSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.scripting.support.ResourceScriptSource;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
 import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
-import java.util.concurrent.TimeUnit;
+import java.util.OptionalInt;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @Slf4j
@@ -26,51 +56,363 @@ public class AddressBookService implements IAddressBookService {
     private RedisTemplate<String, AddressBook> redisTemplate;
 
     @Autowired
-    private RedisTemplate<String, List<AddressBook>> redisListTemplate;
+    private ContactNearCache contactNearCache;
+
+    @Autowired
+    private ContactSearchIndex contactSearchIndex;
+
+    @Autowired
+    private ContactPhoneIndex contactPhoneIndex;
+
+    @Autowired
+    private ContactCacheMetrics cacheMetrics;
+
+    @Autowired
+    private CacheStampedeGuard stampedeGuard;
+
+    @Autowired
+    private RabbitMQProducer rabbitMQProducer;
+
+    @Autowired
+    private ContactVersions contactVersions;
+
+    // Opt-in: contact updates return after the Redis write and the broker confirm, MySQL follows in batches
+    @Value("${addressbook.write-behind.enabled:false}")
+    private boolean writeBehind;
+
+    // Longer than any contact write transaction: rows stamped before now - settle-time have all committed
+    @Value("${addressbook.sync.settle-time:5s}")
+    private Duration syncSettleTime;
+
+    // Tombstones are compacted after this, so older sync tokens can no longer see every delete
+    @Value("${addressbook.sync.tombstone-retention:30d}")
+    private Duration tombstoneRetention;
 
-    private static final String REDIS_KEY_ALL_CONTACTS = "AddressBook:All";
     private static final String REDIS_KEY_CONTACT_PREFIX = "AddressBook:Contact:";
+    private static final Duration CONTACT_CACHE_TTL = Duration.ofMinutes(10);
+
+    // Hash of contact id -> contact. It mirrors the whole table and is patched on every write,
+    // so it carries no TTL; it is only rebuilt from MySQL when Redis has lost it. An empty table
+    // is kept as this one field, which the scripts in resources/scripts write and clear.
+    private static final String REDIS_KEY_CONTACT_INDEX = "AddressBook:Index";
+    private static final String INDEX_EMPTY_MARKER = "empty";
+    // The index scripts reply with an integer, which needs no decoding
+    private static final RedisSerializer<Long> INDEX_SCRIPT_RESULT = new GenericToStringSerializer<>(Long.class);
+
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final int MAX_SEARCH_RESULTS = 100;
+    private static final int MAX_LOOKUP_IDS = 500;
+    private static final int MAX_CHANGES = 1000;
+    private static final String CURSOR_VERSION = "v1:";
+    private static final String SYNC_TOKEN_VERSION = "s2:";
+    // Tokens from before the first-sync floor was added; read as if they carried no floor
+    private static final String SYNC_TOKEN_VERSION_1 = "s1:";
+    private static final LocalDateTime FEED_START = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final DefaultRedisScript<List> getWithTtlScript = buildGetWithTtlScript();
+    private final DefaultRedisScript<Long> patchIndexScript = buildIndexScript("scripts/patch_index.lua");
+    private final DefaultRedisScript<Long> rebuildIndexScript = buildIndexScript("scripts/rebuild_index.lua");
 
     @Override
     public List<AddressBook> getAllContacts() {
         log.info("Fetching all contacts...");
 
-        ListOperations<String, List<AddressBook>> listOps = redisListTemplate.opsForList();
-        List<AddressBook> cachedContacts = listOps.leftPop(REDIS_KEY_ALL_CONTACTS);
-
-        if (cachedContacts != null && !cachedContacts.isEmpty()) {
-            log.info("Returning contacts from Redis cache");
+        List<AddressBook> cachedContacts = readBuiltIndex();
+        if (cachedContacts != null) {
+            log.info("Returning {} contacts from Redis index", cachedContacts.size());
+            cacheMetrics.indexHit();
             return cachedContacts;
         }
 
-        List<AddressBook> contacts = addressBookRepository.findAll();
-        if (!contacts.isEmpty()) {
-            listOps.rightPush(REDIS_KEY_ALL_CONTACTS, contacts);
-            redisListTemplate.expire(REDIS_KEY_ALL_CONTACTS, 10, TimeUnit.MINUTES);
-            log.info("Contacts stored in Redis cache");
-        }
+        cacheMetrics.indexMiss();
+        long loadStart = System.nanoTime();
+        // A lost index is rebuilt by one caller; the rest wait for it instead of each running findAll()
+        List<AddressBook> contacts = stampedeGuard.load(REDIS_KEY_CONTACT_INDEX, this::readBuiltIndex, this::rebuildIndex);
+        cacheMetrics.indexLoaded(System.nanoTime() - loadStart);
 
+        // Coalesced callers share the list, so hand each one its own copy
+        return new ArrayList<>(contacts);
+    }
+
+    // The index sorted by id, or null when it is not built. Also polled while another node rebuilds
+    // it; the rebuild is one script, so it is all or nothing.
+    private List<AddressBook> readBuiltIndex() {
+        HashOperations<String, String, AddressBook> hashOps = redisTemplate.opsForHash();
+        Map<String, AddressBook> entries = hashOps.entries(REDIS_KEY_CONTACT_INDEX);
+        if (entries == null || entries.isEmpty()) {
+            return null;
+        }
+        entries.remove(INDEX_EMPTY_MARKER);
+        // A null entry was written by a newer codec version; rebuild rather than return a partial list
+        if (entries.containsValue(null)) {
+            return null;
+        }
+        List<AddressBook> contacts = new ArrayList<>(entries.values());
+        contacts.sort(Comparator.comparingInt(AddressBook::getId));
         return contacts;
     }
 
+    // The version is read before the table, so a write that lands while findAll() runs moves it and
+    // the script drops this copy instead of resurrecting rows that write changed or deleted
+    private List<AddressBook> rebuildIndex() {
+        String version = contactVersions.current();
+        List<AddressBook> rows = addressBookRepository.findAll();
+
+        List<byte[]> args = new ArrayList<>(1 + 2 * rows.size());
+        args.add((version != null ? version : "").getBytes(StandardCharsets.UTF_8));
+        addIndexEntries(args, rows);
+        Long written = redisTemplate.execute(rebuildIndexScript, RedisSerializer.byteArray(), INDEX_SCRIPT_RESULT,
+                List.of(REDIS_KEY_CONTACT_INDEX, ContactVersions.REDIS_KEY_VERSION), args.toArray());
+        if (Long.valueOf(1).equals(written)) {
+            log.info("Rebuilt Redis contact index with {} contacts", rows.size());
+        } else {
+            log.info("Contacts changed while the index was rebuilt, leaving it to the next read");
+        }
+        return rows;
+    }
+
+    @Override
+    public ContactPageDTO getContactsPage(String cursor, int size, String namePrefix, String phonePrefix, Sort.Direction direction) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new AddressBookException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        boolean descending = direction == Sort.Direction.DESC;
+        int lastId = cursor != null ? decodeCursor(cursor) : (descending ? Integer.MAX_VALUE : 0);
+        boolean byName = namePrefix != null && !namePrefix.isEmpty();
+        boolean byPhone = phonePrefix != null && !phonePrefix.isEmpty();
+        log.info("Fetching contacts page after id {} (size {}, {})", lastId, size, direction);
+
+        // Ask for one extra row so we know whether a next page exists without a COUNT query
+        Pageable limit = PageRequest.of(0, size + 1);
+        List<AddressBook> rows;
+        if (byName && byPhone) {
+            rows = descending
+                    ? addressBookRepository.findByIdLessThanAndNameStartingWithAndPhoneStartingWithOrderByIdDesc(lastId, namePrefix, phonePrefix, limit)
+                    : addressBookRepository.findByIdGreaterThanAndNameStartingWithAndPhoneStartingWithOrderByIdAsc(lastId, namePrefix, phonePrefix, limit);
+        } else if (byName) {
+            rows = descending
+                    ? addressBookRepository.findByIdLessThanAndNameStartingWithOrderByIdDesc(lastId, namePrefix, limit)
+                    : addressBookRepository.findByIdGreaterThanAndNameStartingWithOrderByIdAsc(lastId, namePrefix, limit);
+        } else if (byPhone) {
+            rows = descending
+                    ? addressBookRepository.findByIdLessThanAndPhoneStartingWithOrderByIdDesc(lastId, phonePrefix, limit)
+                    : addressBookRepository.findByIdGreaterThanAndPhoneStartingWithOrderByIdAsc(lastId, phonePrefix, limit);
+        } else {
+            rows = descending
+                    ? addressBookRepository.findByIdLessThanOrderByIdDesc(lastId, limit)
+                    : addressBookRepository.findByIdGreaterThanOrderByIdAsc(lastId, limit);
+        }
+
+        if (rows.size() <= size) {
+            return new ContactPageDTO(rows, null);
+        }
+        List<AddressBook> page = rows.subList(0, size);
+        return new ContactPageDTO(page, encodeCursor(page.get(size - 1).getId()));
+    }
+
+    @Override
+    public List<AddressBook> searchContacts(String query, int limit) {
+        if (limit < 1 || limit > MAX_SEARCH_RESULTS) {
+            throw new AddressBookException("Search limit must be between 1 and " + MAX_SEARCH_RESULTS);
+        }
+        log.info("Searching contacts for '{}'", query);
+        if (!contactSearchIndex.isReady()) {
+            // A LIKE '%x%' scan is what the index exists to avoid; let the client retry once it is built
+            throw new ServiceOverloadedException("Search index is still being built, please retry shortly.");
+        }
+
+        List<Integer> rankedIds = contactSearchIndex.search(query, limit);
+        if (rankedIds.isEmpty()) {
+            return List.of();
+        }
+        // One primary-key lookup for the hits, then restore the ranking order
+        Map<Integer, AddressBook> byId = addressBookRepository.findAllById(rankedIds).stream()
+                .collect(Collectors.toMap(AddressBook::getId, Function.identity()));
+        return rankedIds.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
     @Override
     public Optional<AddressBook> getContactById(int id) {
         String redisKey = REDIS_KEY_CONTACT_PREFIX + id;
         log.info("Fetching contact with ID: {}", id);
 
-        AddressBook cachedContact = redisTemplate.opsForValue().get(redisKey);
+        AddressBook nearContact = contactNearCache.get(id);
+        if (nearContact != null) {
+            log.debug("Returning contact {} from near cache", id);
+            cacheMetrics.nearHit();
+            return Optional.of(nearContact);
+        }
+
+        List<Object> cached = getWithTtl(redisKey);
+        AddressBook cachedContact = cached != null && cached.size() == 2 ? (AddressBook) cached.get(1) : null;
         if (cachedContact != null) {
             log.info("Returning contact {} from Redis cache", id);
+            cacheMetrics.redisHit();
+            // One caller refreshes a hot key just before it expires, so the TTL never opens a miss window
+            if (stampedeGuard.shouldRefreshEarly(redisKey, ((Number) cached.get(0)).longValue())) {
+                AddressBook refreshed = stampedeGuard.tryRefresh(redisKey, () -> loadContact(id));
+                if (refreshed != null) {
+                    cachedContact = refreshed;
+                }
+            }
+            contactNearCache.put(cachedContact);
             return Optional.of(cachedContact);
         }
 
-        Optional<AddressBook> contact = addressBookRepository.findById(id);
-        contact.ifPresent(value -> {
-            redisTemplate.opsForValue().set(redisKey, value, Duration.ofMinutes(10));
-            log.info("Contact {} stored in Redis cache", id);
-        });
+        cacheMetrics.contactMiss();
+        long loadStart = System.nanoTime();
+        AddressBook contact = stampedeGuard.load(redisKey, () -> redisTemplate.opsForValue().get(redisKey), () -> loadContact(id));
+        if (contact != null) {
+            contactNearCache.put(contact);
+        }
+        cacheMetrics.contactLoaded(System.nanoTime() - loadStart);
 
-        return contact;
+        return Optional.ofNullable(contact);
+    }
+
+    @Override
+    public List<AddressBook> getContactsByIds(List<Integer> ids) {
+        // Duplicates are resolved once; the response keeps the order of first appearance
+        List<Integer> distinctIds = ids.stream().filter(Objects::nonNull).distinct().collect(Collectors.toList());
+        if (distinctIds.isEmpty() || distinctIds.size() > MAX_LOOKUP_IDS) {
+            throw new AddressBookException("Lookup must contain between 1 and " + MAX_LOOKUP_IDS + " ids");
+        }
+        log.info("Looking up {} contacts by id", distinctIds.size());
+
+        Map<Integer, AddressBook> found = new HashMap<>();
+        List<Integer> remoteIds = new ArrayList<>();
+        for (Integer id : distinctIds) {
+            AddressBook nearContact = contactNearCache.get(id);
+            if (nearContact != null) {
+                found.put(id, nearContact);
+            } else {
+                remoteIds.add(id);
+            }
+        }
+        int nearHits = found.size();
+
+        // One MGET for everything the near cache could not answer
+        List<Integer> missedIds = new ArrayList<>();
+        if (!remoteIds.isEmpty()) {
+            List<String> keys = remoteIds.stream().map(id -> REDIS_KEY_CONTACT_PREFIX + id).collect(Collectors.toList());
+            List<AddressBook> cached = redisTemplate.opsForValue().multiGet(keys);
+            // Pipelined or transactional connections reply null or short; treat that as all misses
+            boolean usable = cached != null && cached.size() == remoteIds.size();
+            for (int i = 0; i < remoteIds.size(); i++) {
+                AddressBook cachedContact = usable ? cached.get(i) : null;
+                if (cachedContact != null) {
+                    found.put(remoteIds.get(i), cachedContact);
+                    contactNearCache.put(cachedContact);
+                } else {
+                    missedIds.add(remoteIds.get(i));
+                }
+            }
+        }
+        cacheMetrics.lookupResolved(nearHits, remoteIds.size() - missedIds.size(), missedIds.size());
+
+        // One IN query for the misses, written back to Redis in a single pipeline
+        if (!missedIds.isEmpty()) {
+            long loadStart = System.nanoTime();
+            List<AddressBook> loaded = addressBookRepository.findAllById(missedIds);
+            if (!loaded.isEmpty()) {
+                redisTemplate.executePipelined(new SessionCallback<Object>() {
+                    @Override
+                    @SuppressWarnings("unchecked")
+                    public <K, V> Object execute(RedisOperations<K, V> operations) {
+                        RedisOperations<String, AddressBook> ops = (RedisOperations<String, AddressBook>) operations;
+                        for (AddressBook contact : loaded) {
+                            ops.opsForValue().set(REDIS_KEY_CONTACT_PREFIX + contact.getId(), contact, CONTACT_CACHE_TTL);
+                        }
+                        return null;
+                    }
+                });
+            }
+            for (AddressBook contact : loaded) {
+                found.put(contact.getId(), contact);
+                contactNearCache.put(contact);
+            }
+            cacheMetrics.contactLoaded(System.nanoTime() - loadStart);
+            log.info("Loaded {} of {} missed contacts from MySQL", loaded.size(), missedIds.size());
+        }
+
+        // Ids that do not exist are simply left out
+        return distinctIds.stream()
+                .map(found::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public Optional<AddressBook> getContactByPhone(String phone) {
+        log.info("Reverse lookup for phone: {}", phone);
+
+        if (!contactPhoneIndex.isReady()) {
+            // Still warming up after a restart; answer from MySQL until the index is complete
+            return addressBookRepository.findFirstByPhoneOrderByIdDesc(phone);
+        }
+        OptionalInt id = contactPhoneIndex.lookup(phone);
+        if (id.isEmpty()) {
+            return Optional.empty();
+        }
+        Optional<AddressBook> contact = getContactById(id.getAsInt());
+        if (contact.isPresent() && phone.equals(contact.get().getPhone())) {
+            return contact;
+        }
+        // The index is stale here, e.g. a change broadcast from another node was missed; MySQL decides
+        log.warn("Phone index entry for {} points at contact {} which no longer has it", phone, id.getAsInt());
+        contactPhoneIndex.remove(phone, id.getAsInt());
+        return addressBookRepository.findFirstByPhoneOrderByIdDesc(phone);
+    }
+
+    @Override
+    public ContactChangesDTO getChangesSince(String token, int limit) {
+        if (limit < 1 || limit > MAX_CHANGES) {
+            throw new AddressBookException("Change limit must be between 1 and " + MAX_CHANGES);
+        }
+        LocalDateTime now = addressBookRepository.currentTimestamp();
+        // A first sync only holds rows it has been sent, so it needs no tombstone older than its start
+        SyncPosition position = token != null ? decodeSyncToken(token) : new SyncPosition(FEED_START, 0, now);
+        // Tombstones older than the retention may be compacted; that only matters if the client could still need them
+        LocalDateTime neededFrom = position.floor.isAfter(position.updatedAt) ? position.floor : position.updatedAt;
+        if (token != null && neededFrom.isBefore(now.minus(tombstoneRetention))) {
+            throw new SyncTokenExpiredException("Sync token is older than " + tombstoneRetention.toDays() + " days, sync from scratch");
+        }
+        // A transaction still in flight may commit a row stamped before now; stopping at the settled
+        // point means no row can later appear behind a position we have handed out
+        LocalDateTime settled = now.minus(syncSettleTime);
+        log.info("Fetching contact changes after {} (limit {})", position.updatedAt, limit);
+
+        // A first sync has no copy to delete from, so it skips tombstones
+        List<AddressBook> rows = addressBookRepository.findChangedAfter(
+                position.updatedAt, position.id, settled, token != null, limit + 1);
+        boolean hasMore = rows.size() > limit;
+        if (hasMore) {
+            rows = rows.subList(0, limit);
+        }
+
+        List<AddressBook> upserted = new ArrayList<>();
+        List<Integer> deleted = new ArrayList<>();
+        for (AddressBook row : rows) {
+            if (row.isDeleted()) {
+                deleted.add(row.getId());
+            } else {
+                upserted.add(row);
+            }
+        }
+
+        // Once caught up the client moves to the settled point, so even an idle book keeps its token fresh
+        SyncPosition next = position;
+        if (hasMore) {
+            AddressBook last = rows.get(rows.size() - 1);
+            next = new SyncPosition(last.getUpdatedAt(), last.getId(), position.floor);
+        } else if (settled.isAfter(position.updatedAt)) {
+            // Caught up: from here on the position itself is the oldest change the client still needs
+            next = new SyncPosition(settled, 0, FEED_START);
+        }
+        return new ContactChangesDTO(upserted, deleted, encodeSyncToken(next), hasMore);
     }
 
     @Override
@@ -84,41 +426,96 @@ public class AddressBookService implements IAddressBookService {
 
         AddressBook savedContact = addressBookRepository.save(contact);
 
-        redisTemplate.opsForValue().set(REDIS_KEY_CONTACT_PREFIX + savedContact.getId(), savedContact, Duration.ofMinutes(10));
-        redisListTemplate.delete(REDIS_KEY_ALL_CONTACTS);
+        redisTemplate.opsForValue().set(REDIS_KEY_CONTACT_PREFIX + savedContact.getId(), savedContact, CONTACT_CACHE_TTL);
+        putIndexEntries(List.of(savedContact));
+        contactSearchIndex.index(savedContact);
+        contactPhoneIndex.put(savedContact.getPhone(), savedContact.getId());
 
         log.info("Contact {} added & cached in Redis", savedContact.getId());
         return savedContact;
     }
 
+    @Override
+    public List<AddressBook> addContacts(List<AddressBookDTO> addressBookDTOs) {
+        log.info("Adding {} contacts in batch", addressBookDTOs.size());
+
+        List<AddressBook> contacts = addressBookDTOs.stream().map(dto -> {
+            AddressBook contact = new AddressBook();
+            contact.setName(dto.getName());
+            contact.setPhone(dto.getPhone());
+            contact.setAddress(dto.getAddress());
+            return contact;
+        }).collect(Collectors.toList());
+
+        List<AddressBook> savedContacts = addressBookRepository.batchInsert(contacts);
+        cacheContacts(savedContacts);
+        savedContacts.forEach(contactSearchIndex::index);
+        savedContacts.forEach(contact -> contactPhoneIndex.put(contact.getPhone(), contact.getId()));
+
+        log.info("{} contacts added & cached in Redis", savedContacts.size());
+        return savedContacts;
+    }
+
     @Override
     public Optional<AddressBook> updateContact(int id, AddressBookDTO addressBookDTO) {
         log.info("Updating contact with ID: {}", id);
 
+        if (writeBehind) {
+            return updateContactWriteBehind(id, addressBookDTO);
+        }
         return addressBookRepository.findById(id).map(contact -> {
+            String oldPhone = contact.getPhone();
             contact.setName(addressBookDTO.getName());
             contact.setPhone(addressBookDTO.getPhone());
             contact.setAddress(addressBookDTO.getAddress());
 
             AddressBook updatedContact = addressBookRepository.save(contact);
-
-            redisTemplate.opsForValue().set(REDIS_KEY_CONTACT_PREFIX + updatedContact.getId(), updatedContact, Duration.ofMinutes(10));
-            redisListTemplate.delete(REDIS_KEY_ALL_CONTACTS);
+            cacheUpdatedContact(updatedContact, oldPhone);
 
             log.info("Contact {} updated & cached in Redis", id);
             return updatedContact;
         });
     }
 
+    // The new state goes to Redis and, as a confirmed change record, to RabbitMQ; MySQL catches up
+    // when RabbitMQConsumer flushes the next batch. Existence is checked against the caches.
+    private Optional<AddressBook> updateContactWriteBehind(int id, AddressBookDTO addressBookDTO) {
+        return getContactById(id).map(existing -> {
+            // A fresh object: the cached one may be shared through the near cache
+            AddressBook contact = new AddressBook();
+            contact.setId(id);
+            contact.setName(addressBookDTO.getName());
+            contact.setPhone(addressBookDTO.getPhone());
+            contact.setAddress(addressBookDTO.getAddress());
+
+            try {
+                rabbitMQProducer.publishContactChange(new ContactChangeDTO(id, contact.getName(), contact.getPhone(), contact.getAddress()));
+            } catch (AmqpException e) {
+                // Broker unavailable: write through rather than lose the update
+                log.error("Could not queue change of contact {}, writing it to MySQL now: {}", id, e.getMessage());
+                contact = addressBookRepository.save(contact);
+            }
+            cacheUpdatedContact(contact, existing.getPhone());
+
+            log.info("Contact {} updated in Redis, MySQL write queued", id);
+            return contact;
+        });
+    }
+
     @Override
     public boolean deleteContact(int id) {
         log.info("Deleting contact with ID: {}", id);
 
-        if (addressBookRepository.existsById(id)) {
-            addressBookRepository.deleteById(id);
+        Optional<AddressBook> existing = addressBookRepository.findById(id);
+        if (existing.isPresent()) {
+            // Soft delete: the row stays behind as a tombstone for delta sync until TombstoneCompactor removes it
+            addressBookRepository.delete(existing.get());
 
             redisTemplate.delete(REDIS_KEY_CONTACT_PREFIX + id);
-            redisListTemplate.delete(REDIS_KEY_ALL_CONTACTS);
+            patchIndex("del", List.of(String.valueOf(id).getBytes(StandardCharsets.UTF_8)));
+            contactNearCache.invalidate(id);
+            contactSearchIndex.remove(id);
+            contactPhoneIndex.remove(existing.get().getPhone(), id);
 
             log.info("Contact {} deleted from DB and Redis", id);
             return true;
@@ -127,4 +524,157 @@ public class AddressBookService implements IAddressBookService {
         log.warn("Contact {} not found for deletion", id);
         return false;
     }
+
+    private void cacheUpdatedContact(AddressBook contact, String oldPhone) {
+        redisTemplate.opsForValue().set(REDIS_KEY_CONTACT_PREFIX + contact.getId(), contact, CONTACT_CACHE_TTL);
+        putIndexEntries(List.of(contact));
+        contactNearCache.invalidate(contact.getId());
+        contactSearchIndex.index(contact);
+        contactPhoneIndex.replace(oldPhone, contact.getPhone(), contact.getId());
+    }
+
+    // Loads one contact from MySQL and writes it back to Redis; null when it does not exist
+    private AddressBook loadContact(int id) {
+        AddressBook contact = addressBookRepository.findById(id).orElse(null);
+        if (contact != null) {
+            redisTemplate.opsForValue().set(REDIS_KEY_CONTACT_PREFIX + id, contact, CONTACT_CACHE_TTL);
+            log.info("Contact {} stored in Redis cache", id);
+        }
+        return contact;
+    }
+
+    // GET plus PTTL in one round trip; the remaining TTL drives the early refresh decision
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private List<Object> getWithTtl(String redisKey) {
+        RedisSerializer<List> resultSerializer = (RedisSerializer<List>) redisTemplate.getValueSerializer();
+        return redisTemplate.execute(getWithTtlScript, redisTemplate.getStringSerializer(), resultSerializer, List.of(redisKey));
+    }
+
+    private static DefaultRedisScript<List> buildGetWithTtlScript() {
+        DefaultRedisScript<List> script = new DefaultRedisScript<>();
+        script.setScriptSource(new ResourceScriptSource(new ClassPathResource("scripts/get_with_ttl.lua")));
+        script.setResultType(List.class);
+        return script;
+    }
+
+    private static DefaultRedisScript<Long> buildIndexScript(String path) {
+        DefaultRedisScript<Long> script = new DefaultRedisScript<>();
+        script.setScriptSource(new ResourceScriptSource(new ClassPathResource(path)));
+        script.setResultType(Long.class);
+        return script;
+    }
+
+    // Patches the index entries of written contacts and bumps the collection version. The index is
+    // only patched if it exists, checked inside the script so a lone entry can never start one.
+    private void putIndexEntries(List<AddressBook> contacts) {
+        List<byte[]> entries = new ArrayList<>(2 * contacts.size());
+        addIndexEntries(entries, contacts);
+        patchIndex("put", entries);
+    }
+
+    private void patchIndex(String op, List<byte[]> entries) {
+        Object[] args = new Object[1 + entries.size()];
+        args[0] = op.getBytes(StandardCharsets.UTF_8);
+        for (int i = 0; i < entries.size(); i++) {
+            args[i + 1] = entries.get(i);
+        }
+        redisTemplate.execute(patchIndexScript, RedisSerializer.byteArray(), INDEX_SCRIPT_RESULT,
+                List.of(REDIS_KEY_CONTACT_INDEX, ContactVersions.REDIS_KEY_VERSION), args);
+    }
+
+    // Id/contact pairs as the index scripts take them, encoded like every other index entry
+    @SuppressWarnings("unchecked")
+    private void addIndexEntries(List<byte[]> args, List<AddressBook> contacts) {
+        RedisSerializer<AddressBook> contactSerializer = (RedisSerializer<AddressBook>) redisTemplate.getHashValueSerializer();
+        for (AddressBook contact : contacts) {
+            args.add(String.valueOf(contact.getId()).getBytes(StandardCharsets.UTF_8));
+            args.add(contactSerializer.serialize(contact));
+        }
+    }
+
+    // Writes all per-contact keys in one pipelined round trip, then patches the index in one script
+    private void cacheContacts(List<AddressBook> contacts) {
+        if (contacts.isEmpty()) {
+            return;
+        }
+
+        redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Object execute(RedisOperations<K, V> operations) {
+                RedisOperations<String, AddressBook> ops = (RedisOperations<String, AddressBook>) operations;
+                for (AddressBook contact : contacts) {
+                    ops.opsForValue().set(REDIS_KEY_CONTACT_PREFIX + contact.getId(), contact, CONTACT_CACHE_TTL);
+                }
+                return null;
+            }
+        });
+        putIndexEntries(contacts);
+    }
+
+    // Cursors are the last id of the page, versioned and base64url encoded so clients treat them as opaque
+    private static String encodeCursor(int lastId) {
+        byte[] raw = (CURSOR_VERSION + lastId).getBytes(StandardCharsets.UTF_8);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw);
+    }
+
+    private static int decodeCursor(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (raw.startsWith(CURSOR_VERSION)) {
+                return Integer.parseInt(raw.substring(CURSOR_VERSION.length()));
+            }
+        } catch (IllegalArgumentException e) {
+            // NumberFormatException is an IllegalArgumentException too; fall through to the error below
+        }
+        throw new AddressBookException("Invalid cursor: " + cursor);
+    }
+
+    // Sync tokens are a feed position: updated_at in epoch microseconds (UTC) and the id, plus the start
+    // of the first sync while one is paging (0 otherwise); opaque like cursors
+    private static String encodeSyncToken(SyncPosition position) {
+        String raw = SYNC_TOKEN_VERSION + toMicros(position.updatedAt) + ":" + position.id + ":" + toMicros(position.floor);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static SyncPosition decodeSyncToken(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            if (raw.startsWith(SYNC_TOKEN_VERSION)) {
+                String[] parts = raw.substring(SYNC_TOKEN_VERSION.length()).split(":");
+                if (parts.length == 3) {
+                    return new SyncPosition(fromMicros(Long.parseLong(parts[0])), Integer.parseInt(parts[1]), fromMicros(Long.parseLong(parts[2])));
+                }
+            } else if (raw.startsWith(SYNC_TOKEN_VERSION_1)) {
+                String[] parts = raw.substring(SYNC_TOKEN_VERSION_1.length()).split(":");
+                if (parts.length == 2) {
+                    return new SyncPosition(fromMicros(Long.parseLong(parts[0])), Integer.parseInt(parts[1]), FEED_START);
+                }
+            }
+        } catch (IllegalArgumentException | DateTimeException e) {
+            // Fall through to the error below
+        }
+        throw new AddressBookException("Invalid sync token: " + token);
+    }
+
+    private static long toMicros(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + time.getNano() / 1_000;
+    }
+
+    private static LocalDateTime fromMicros(long micros) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000), (int) Math.floorMod(micros, 1_000_000) * 1_000, ZoneOffset.UTC);
+    }
+
+    private static final class SyncPosition {
+        private final LocalDateTime updatedAt;
+        private final int id;
+        // Start of the first sync this token pages through; the client holds nothing deleted before it
+        private final LocalDateTime floor;
+
+        private SyncPosition(LocalDateTime updatedAt, int id, LocalDateTime floor) {
+            this.updatedAt = updatedAt;
+            this.id = id;
+            this.floor = floor;
+        }
+    }
 }
\ No newline at end of file
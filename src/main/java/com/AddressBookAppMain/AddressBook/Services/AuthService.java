@@ -7,14 +7,12 @@ import com.AddressBookAppMain.AddressBook.DTO.UserDTO;
 import com.AddressBookAppMain.AddressBook.Entity.User;
 import com.AddressBookAppMain.AddressBook.Repository.UserRepository;
 import com.AddressBookAppMain.AddressBook.Security.JwtUtil;
+import com.AddressBookAppMain.AddressBook.Security.PasswordHasher;
 import jakarta.mail.MessagingException;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.redis.core.RedisTemplate;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import java.util.Optional;
-import java.util.concurrent.TimeUnit;
 
 @Service
 public class AuthService {
@@ -23,18 +21,13 @@ public class AuthService {
     private UserRepository userRepository;
 
     @Autowired
-    private PasswordEncoder passwordEncoder;
+    private PasswordHasher passwordHasher;
 
     @Autowired
     private JwtUtil jwtUtils;
 
     @Autowired
-    private EmailService emailService;
-
-    @Autowired
-    private RedisTemplate<String, String> redisTemplate;  // ✅ Autowire RedisTemplate
-
-    private static final String TOKEN_PREFIX = "JWT_TOKEN:";  // ✅ Key prefix for Redis storage
+    private EmailOutbox emailOutbox;
 
     // Register User
     public String registerUser(UserDTO userDTO) {
@@ -45,7 +38,7 @@ public class AuthService {
         User user = new User();
         user.setUsername(userDTO.getUsername());
         user.setEmail(userDTO.getEmail());
-        user.setPassword(passwordEncoder.encode(userDTO.getPassword()));
+        user.setPassword(passwordHasher.encode(userDTO.getPassword()));
 
         userRepository.save(user);
         return "User registered successfully!";
@@ -56,15 +49,18 @@ public class AuthService {
         User user = userRepository.findByEmail(loginRequestDTO.getEmail())
                 .orElseThrow(() -> new IllegalArgumentException("User not found!"));
 
-        if (!passwordEncoder.matches(loginRequestDTO.getPassword(), user.getPassword())) {
+        if (!passwordHasher.matches(loginRequestDTO.getPassword(), user.getPassword())) {
             throw new IllegalArgumentException("Invalid email or password!");
         }
 
-        // Generate and store a new token
-        String token = jwtUtils.generateToken(user.getEmail());
+        // Bring hashes made with an older cost factor up to the configured one
+        if (passwordHasher.upgradeEncoding(user.getPassword())) {
+            user.setPassword(passwordHasher.encode(loginRequestDTO.getPassword()));
+            userRepository.save(user);
+        }
 
-        // Store token in Redis with a 1-hour expiry
-        redisTemplate.opsForValue().set(TOKEN_PREFIX + user.getEmail(), token, 1, TimeUnit.HOURS);
+        // Generate a new token; JwtUtil stores it in Redis for the token's lifetime
+        String token = jwtUtils.generateToken(user.getEmail());
 
         // Send JWT token in email
         sendTokenEmail(user.getEmail(), token);
@@ -76,10 +72,8 @@ public class AuthService {
         String email = jwtUtils.getEmailFromToken(token);
 
         if (email != null) {
-            //  Retrieve token from Redis
-            String storedToken = redisTemplate.opsForValue().get(TOKEN_PREFIX + email);
-
-            if (storedToken != null && storedToken.equals(token) && jwtUtils.isTokenValid(email, token)) {
+            //  Compare with the token stored in Redis (usually answered from JwtUtil's local cache)
+            if (jwtUtils.isTokenValid(email, token)) {
                 //  Send login success email
                 sendLoginSuccessEmail(email);
                 return true;
@@ -98,7 +92,7 @@ public class AuthService {
                 "<p style='font-size: 14px; color: #555;'>Use this token for authentication.</p>" +
                 "<p style='font-size: 14px; color: #333;'>Regards,<br><strong>AddressBook App Team</strong></p>";
 
-        emailService.sendEmail(email, subject, message);
+        emailOutbox.enqueue(email, subject, message);
     }
 
     // ✅ Send Login Success Email
@@ -109,7 +103,7 @@ public class AuthService {
                 "<p style='font-family: Arial, sans-serif; color: red; font-weight: bold;'>If this wasn't you, please reset your password immediately.</p>" +
                 "<p style='font-family: Arial, sans-serif; font-weight: bold;'>Regards,<br>AddressBook App Team</p>";
 
-        emailService.sendEmail(email, subject, message);
+        emailOutbox.enqueue(email, subject, message);
     }
 
     // Forgot Password
@@ -117,12 +111,12 @@ public class AuthService {
         Optional<User> optionalUser = userRepository.findByEmail(email);
         if (optionalUser.isPresent()) {
             User user = optionalUser.get();
-            user.setPassword(passwordEncoder.encode(newPassword));
+            user.setPassword(passwordHasher.encode(newPassword));
             userRepository.save(user);
 
             String subject = "Password Changed Successfully";
             String message = "Hello " + user.getUsername() + ",\n\nYour password has been changed.\n\nIf this wasn't you, contact support immediately.";
-            emailService.sendEmail(user.getEmail(), subject, message);
+            emailOutbox.enqueue(user.getEmail(), subject, message);
             return true;
         }
         return false;
@@ -133,10 +127,10 @@ public class AuthService {
         Optional<User> optionalUser = userRepository.findByEmail(email);
         if (optionalUser.isPresent()) {
             User user = optionalUser.get();
-            if (!passwordEncoder.matches(oldPassword, user.getPassword())) {
+            if (!passwordHasher.matches(oldPassword, user.getPassword())) {
                 throw new IllegalArgumentException("Old password is incorrect!");
             }
-            user.setPassword(passwordEncoder.encode(newPassword));
+            user.setPassword(passwordHasher.encode(newPassword));
             userRepository.save(user);
             return true;
         }
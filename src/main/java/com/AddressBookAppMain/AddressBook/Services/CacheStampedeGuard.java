@@ -0,0 +1,228 @@
+package com.AddressBookAppMain.AddressBook.Services;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.scripting.support.ResourceScriptSource;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Keeps an expired or lost cache key from turning into a burst of identical database queries.
+ * Concurrent misses for one key on this node share a single in-flight load, and a short Redis
+ * lease (SET NX PX) lets one node load at a time while the others wait for its write-back.
+ * Hot keys are also refreshed shortly before they expire (XFetch), so most of them never miss.
+ */
+@Slf4j
+@Component
+public class CacheStampedeGuard {
+
+    private static final String LEASE_PREFIX = "Lease:";
+    private static final long LEASE_POLL_MS = 20;
+
+    private final Map<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    // Smoothed load time per key family (the key up to its last ':'), the delta of XFetch
+    private final Map<String, Long> loadNanos = new ConcurrentHashMap<>();
+    private final String nodeId = UUID.randomUUID().toString();
+    private final AtomicLong leaseSequence = new AtomicLong();
+    private final DefaultRedisScript<Long> releaseLeaseScript = new DefaultRedisScript<>();
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final Duration leaseTime;
+    private final Duration maxWait;
+    private final double beta;
+    private final Counter coalesced;
+    private final Counter leaseWaits;
+    private final Counter earlyRefreshes;
+
+    public CacheStampedeGuard(StringRedisTemplate stringRedisTemplate,
+                              MeterRegistry meterRegistry,
+                              @Value("${addressbook.cache.lease-time:2s}") Duration leaseTime,
+                              @Value("${addressbook.cache.max-wait:1s}") Duration maxWait,
+                              @Value("${addressbook.cache.early-refresh.beta:1.0}") double beta) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.leaseTime = leaseTime;
+        this.maxWait = maxWait;
+        this.beta = beta;
+        this.coalesced = stampede(meterRegistry, "coalesced");
+        this.leaseWaits = stampede(meterRegistry, "lease-wait");
+        this.earlyRefreshes = stampede(meterRegistry, "early-refresh");
+        releaseLeaseScript.setScriptSource(new ResourceScriptSource(new ClassPathResource("scripts/release_lease.lua")));
+        releaseLeaseScript.setResultType(Long.class);
+    }
+
+    /**
+     * Resolves a cache miss for key. Only one caller per node runs loader, which must write the
+     * value back to Redis; cached is polled while another node holds the lease.
+     * Either supplier may return null (nothing cached / nothing in the database).
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T load(String key, Supplier<T> cached, Supplier<T> loader) {
+        CompletableFuture<Object> mine = new CompletableFuture<>();
+        CompletableFuture<Object> leader = inFlight.putIfAbsent(key, mine);
+        if (leader != null) {
+            coalesced.increment();
+            return (T) await(leader, loader);
+        }
+        try {
+            T value = loadAcrossNodes(key, cached, loader);
+            mine.complete(value);
+            return value;
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    // XFetch: refresh with a probability that rises as expiry nears and with how slow the load is
+    public boolean shouldRefreshEarly(String key, long ttlMillis) {
+        if (beta <= 0 || ttlMillis <= 0) {
+            return false;
+        }
+        Long delta = loadNanos.get(family(key));
+        if (delta == null) {
+            return false;
+        }
+        double deltaMillis = delta / 1_000_000.0;
+        return -deltaMillis * beta * Math.log(ThreadLocalRandom.current().nextDouble()) >= ttlMillis;
+    }
+
+    /**
+     * Reloads a key that is still cached. Returns null without loading when this node or another
+     * one is already refreshing it; the caller keeps serving the cached value then.
+     */
+    public <T> T tryRefresh(String key, Supplier<T> loader) {
+        String lease = acquireLease(key);
+        if (lease == null) {
+            return null;
+        }
+        CompletableFuture<Object> mine = new CompletableFuture<>();
+        try {
+            if (inFlight.putIfAbsent(key, mine) != null) {
+                return null;
+            }
+            earlyRefreshes.increment();
+            T value = timedLoad(key, loader);
+            mine.complete(value);
+            return value;
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+            releaseLease(key, lease);
+        }
+    }
+
+    private <T> T loadAcrossNodes(String key, Supplier<T> cached, Supplier<T> loader) {
+        if (leaseTime.isZero()) {
+            return timedLoad(key, loader);
+        }
+        String lease = acquireLease(key);
+        if (lease == null) {
+            leaseWaits.increment();
+            long deadline = System.nanoTime() + maxWait.toNanos();
+            while (lease == null && System.nanoTime() < deadline) {
+                try {
+                    Thread.sleep(LEASE_POLL_MS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+                T value = cached.get();
+                if (value != null) {
+                    return value;
+                }
+                // The holder finished without caching anything (e.g. the row does not exist) or died
+                lease = acquireLease(key);
+            }
+        }
+        // Past the wait budget we load anyway: a slow or dead holder must not fail our request
+        try {
+            return timedLoad(key, loader);
+        } finally {
+            releaseLease(key, lease);
+        }
+    }
+
+    private <T> T timedLoad(String key, Supplier<T> loader) {
+        long start = System.nanoTime();
+        T value = loader.get();
+        loadNanos.merge(family(key), System.nanoTime() - start, (old, now) -> old + (now - old) / 8);
+        return value;
+    }
+
+    private Object await(CompletableFuture<Object> leader, Supplier<?> loader) {
+        try {
+            // The leader may itself wait up to maxWait for a lease before it starts loading
+            return leader.get(maxWait.plus(leaseTime).toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            return loader.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return loader.get();
+        }
+    }
+
+    // Returns the lease token, or null when another node holds the lease. Fails open if Redis is down.
+    private String acquireLease(String key) {
+        String token = nodeId + ":" + leaseSequence.incrementAndGet();
+        if (leaseTime.isZero()) {
+            return token;
+        }
+        try {
+            return Boolean.TRUE.equals(stringRedisTemplate.opsForValue().setIfAbsent(LEASE_PREFIX + key, token, leaseTime))
+                    ? token : null;
+        } catch (DataAccessException e) {
+            log.warn("Could not take loader lease for {}, loading without it: {}", key, e.getMessage());
+            return token;
+        }
+    }
+
+    private void releaseLease(String key, String token) {
+        if (token == null || leaseTime.isZero()) {
+            return;
+        }
+        try {
+            stringRedisTemplate.execute(releaseLeaseScript, List.of(LEASE_PREFIX + key), token);
+        } catch (DataAccessException e) {
+            // The lease expires on its own
+            log.debug("Could not release loader lease for {}: {}", key, e.getMessage());
+        }
+    }
+
+    private static String family(String key) {
+        return key.substring(0, key.lastIndexOf(':') + 1);
+    }
+
+    private static Counter stampede(MeterRegistry registry, String outcome) {
+        return Counter.builder("addressbook.cache.stampede")
+                .description("Cache loads that waited on another loader or refreshed a key ahead of expiry")
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+}
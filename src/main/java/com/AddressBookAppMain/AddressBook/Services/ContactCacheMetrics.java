@@ -0,0 +1,86 @@
+package com.AddressBookAppMain.AddressBook.Services;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hit/miss counters and load timers for the contact caches, pre-registered so the read path
+ * only increments. addressbook.cache.gets is tagged by cache (contact = AddressBook:Contact:,
+ * index = AddressBook:Index) and by the tier that answered.
+ */
+@Component
+public class ContactCacheMetrics {
+
+    private final Counter nearHits;
+    private final Counter redisHits;
+    private final Counter contactMisses;
+    private final Counter indexHits;
+    private final Counter indexMisses;
+    private final Timer contactLoads;
+    private final Timer indexLoads;
+
+    public ContactCacheMetrics(MeterRegistry registry) {
+        this.nearHits = gets(registry, "contact", "near-hit");
+        this.redisHits = gets(registry, "contact", "hit");
+        this.contactMisses = gets(registry, "contact", "miss");
+        this.indexHits = gets(registry, "index", "hit");
+        this.indexMisses = gets(registry, "index", "miss");
+        this.contactLoads = loads(registry, "contact");
+        this.indexLoads = loads(registry, "index");
+    }
+
+    public void nearHit() {
+        nearHits.increment();
+    }
+
+    public void redisHit() {
+        redisHits.increment();
+    }
+
+    // A contact miss is followed by a database load, recorded with contactLoaded
+    public void contactMiss() {
+        contactMisses.increment();
+    }
+
+    // Multi-get lookups resolve many ids per call; counted per id so the ratios stay comparable
+    public void lookupResolved(int nearHitCount, int redisHitCount, int missCount) {
+        nearHits.increment(nearHitCount);
+        redisHits.increment(redisHitCount);
+        contactMisses.increment(missCount);
+    }
+
+    public void contactLoaded(long nanos) {
+        contactLoads.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void indexHit() {
+        indexHits.increment();
+    }
+
+    public void indexMiss() {
+        indexMisses.increment();
+    }
+
+    public void indexLoaded(long nanos) {
+        indexLoads.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    private static Counter gets(MeterRegistry registry, String cache, String result) {
+        return Counter.builder("addressbook.cache.gets")
+                .description("Contact cache lookups by the tier that answered them")
+                .tag("cache", cache)
+                .tag("result", result)
+                .register(registry);
+    }
+
+    private static Timer loads(MeterRegistry registry, String cache) {
+        return Timer.builder("addressbook.cache.loads")
+                .description("Time to load cache misses from MySQL and write them back")
+                .tag("cache", cache)
+                .register(registry);
+    }
+}
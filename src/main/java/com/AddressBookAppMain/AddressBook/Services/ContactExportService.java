@@ -0,0 +1,113 @@
+package com.AddressBookAppMain.AddressBook.Services;
+
+import com.AddressBookAppMain.AddressBook.Entity.AddressBook;
+import com.AddressBookAppMain.AddressBook.Repository.AddressBookRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@Service
+@Slf4j
+public class ContactExportService {
+
+    public enum ExportFormat { NDJSON, CSV }
+
+    @Autowired
+    private AddressBookRepository addressBookRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Streams every contact to the given output in id order. Each row is written and then
+     * detached, so heap use does not depend on the size of the table.
+     */
+    @Transactional(readOnly = true)
+    public long exportContacts(OutputStream out, ExportFormat format) throws IOException {
+        log.info("Starting {} export of all contacts", format);
+        long count;
+        try (Stream<AddressBook> contacts = addressBookRepository.streamAllByOrderByIdAsc()) {
+            count = format == ExportFormat.CSV
+                    ? writeCsv(contacts.iterator(), out)
+                    : writeNdjson(contacts.iterator(), out);
+        }
+        log.info("Exported {} contacts as {}", count, format);
+        return count;
+    }
+
+    private long writeNdjson(Iterator<AddressBook> contacts, OutputStream out) throws IOException {
+        ObjectWriter writer = objectMapper.writerFor(AddressBook.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+        generator.setRootValueSeparator(new SerializedString("\n"));
+
+        long count = 0;
+        while (contacts.hasNext()) {
+            AddressBook contact = contacts.next();
+            writer.writeValue(generator, contact);
+            entityManager.detach(contact);
+            count++;
+        }
+        if (count > 0) {
+            generator.writeRaw('\n');
+        }
+        generator.flush();
+        return count;
+    }
+
+    private long writeCsv(Iterator<AddressBook> contacts, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write("id,name,phone,address\n");
+
+        long count = 0;
+        while (contacts.hasNext()) {
+            AddressBook contact = contacts.next();
+            writer.write(Integer.toString(contact.getId()));
+            writer.write(',');
+            writeCsvField(writer, contact.getName());
+            writer.write(',');
+            writeCsvField(writer, contact.getPhone());
+            writer.write(',');
+            writeCsvField(writer, contact.getAddress());
+            writer.write('\n');
+            entityManager.detach(contact);
+            count++;
+        }
+        writer.flush();
+        return count;
+    }
+
+    // RFC 4180 quoting: only fields containing a separator, quote or line break are quoted
+    private static void writeCsvField(Writer writer, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
@@ -0,0 +1,80 @@
+package com.AddressBookAppMain.AddressBook.Services;
+
+import com.AddressBookAppMain.AddressBook.Entity.AddressBook;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Bounded in-JVM cache in front of the AddressBook:Contact: Redis keys.
+ * Writes on any node are broadcast over Redis pub/sub so every node drops its local copy;
+ * the short TTL bounds staleness if a broadcast is missed (pub/sub is fire-and-forget).
+ */
+@Slf4j
+@Component
+public class ContactNearCache implements MessageListener {
+
+    public static final String INVALIDATION_CHANNEL = "AddressBook:Invalidate";
+
+    // Lets a node ignore its own broadcasts, it has already invalidated locally
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final Cache<Integer, AddressBook> cache;
+    private final StringRedisTemplate stringRedisTemplate;
+
+    public ContactNearCache(StringRedisTemplate stringRedisTemplate,
+                            @Value("${addressbook.near-cache.max-size:10000}") long maxSize,
+                            @Value("${addressbook.near-cache.ttl:30s}") Duration ttl) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    public AddressBook get(int id) {
+        return cache.getIfPresent(id);
+    }
+
+    public void put(AddressBook contact) {
+        cache.put(contact.getId(), contact);
+    }
+
+    // Most frequently used ids first, as ranked by Caffeine's admission policy
+    public List<Integer> hottestIds(int limit) {
+        return cache.policy().eviction()
+                .map(eviction -> new ArrayList<>(eviction.hottest(limit).keySet()))
+                .orElseGet(ArrayList::new);
+    }
+
+    // Drops the local entry and tells the other nodes to do the same
+    public void invalidate(int id) {
+        cache.invalidate(id);
+        stringRedisTemplate.convertAndSend(INVALIDATION_CHANNEL, nodeId + ":" + id);
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int separator = body.lastIndexOf(':');
+        if (separator < 0 || body.substring(0, separator).equals(nodeId)) {
+            return;
+        }
+        try {
+            cache.invalidate(Integer.parseInt(body.substring(separator + 1)));
+        } catch (NumberFormatException e) {
+            log.warn("Ignoring malformed near cache invalidation: {}", body);
+        }
+    }
+}
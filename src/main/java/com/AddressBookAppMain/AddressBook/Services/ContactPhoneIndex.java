@@ -0,0 +1,304 @@
+package com.AddressBookAppMain.AddressBook.Services;
+
+import com.AddressBookAppMain.AddressBook.Entity.AddressBook;
+import com.AddressBookAppMain.AddressBook.Repository.AddressBookRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.OptionalInt;
+import java.util.UUID;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Phone number -> contact id index for reverse lookups.
+ * Phones are validated as exactly 10 digits, so they are stored as primitive longs in an
+ * open-addressing table: 12 bytes per slot and no boxed Long/Integer objects.
+ * When several contacts share a number, the most recently written one owns it.
+ * Every node holds its own copy; writes are broadcast over Redis pub/sub like the near cache
+ * invalidations, and lookups re-check the loaded contact in case a broadcast was missed.
+ */
+@Slf4j
+@Component
+public class ContactPhoneIndex implements MessageListener {
+
+    public static final String CHANGE_CHANNEL = "AddressBook:PhoneIndex";
+
+    private static final int BUILD_PAGE_SIZE = 10_000;
+
+    // Lets a node ignore its own broadcasts, it has already applied them
+    private final String nodeId = UUID.randomUUID().toString();
+
+    @Autowired
+    private AddressBookRepository addressBookRepository;
+
+    @Autowired
+    private StringRedisTemplate stringRedisTemplate;
+
+    private final LongIntHashMap map = new LongIntHashMap(1 << 16);
+    private final StampedLock lock = new StampedLock();
+    private volatile boolean ready;
+
+    // Called by StartupWarmup before the node reports ready
+    public void buildIndex() {
+        long start = System.currentTimeMillis();
+        int lastId = 0;
+        int count = 0;
+        List<AddressBook> page;
+        do {
+            page = addressBookRepository.findByIdGreaterThanOrderByIdAsc(lastId, PageRequest.of(0, BUILD_PAGE_SIZE));
+            long stamp = lock.writeLock();
+            try {
+                for (AddressBook contact : page) {
+                    long phone = parsePhone(contact.getPhone());
+                    // Entries written while the build runs are newer than what we read here
+                    if (phone >= 0 && map.get(phone) < 0) {
+                        map.put(phone, contact.getId());
+                    }
+                }
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+            if (!page.isEmpty()) {
+                lastId = page.get(page.size() - 1).getId();
+            }
+            count += page.size();
+        } while (page.size() == BUILD_PAGE_SIZE);
+        ready = true;
+        log.info("Phone index built with {} numbers from {} contacts in {} ms", map.size(), count, System.currentTimeMillis() - start);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public OptionalInt lookup(String phone) {
+        long key = parsePhone(phone);
+        if (key < 0) {
+            return OptionalInt.empty();
+        }
+        // Lock-free on the read path; retried under the read lock only if a write got in between
+        long stamp = lock.tryOptimisticRead();
+        int id = map.get(key);
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                id = map.get(key);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return id < 0 ? OptionalInt.empty() : OptionalInt.of(id);
+    }
+
+    public void put(String phone, int id) {
+        long key = parsePhone(phone);
+        if (key < 0) {
+            return;
+        }
+        applyPut(key, id);
+        broadcast("put", key, id);
+    }
+
+    // Drops the mapping if this contact owned the number, handing it to another contact that shares it
+    public void remove(String phone, int id) {
+        long key = parsePhone(phone);
+        if (key < 0 || !applyRemove(key, id)) {
+            return;
+        }
+        broadcast("remove", key, id);
+        // The hand-off is a put of its own, so the other nodes follow it too
+        addressBookRepository.findFirstByPhoneOrderByIdDesc(phone)
+                .ifPresent(other -> put(other.getPhone(), other.getId()));
+    }
+
+    public void replace(String oldPhone, String newPhone, int id) {
+        if (oldPhone != null && oldPhone.equals(newPhone)) {
+            return;
+        }
+        remove(oldPhone, id);
+        put(newPhone, id);
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        // nodeId:op:phone:id
+        String[] parts = body.split(":");
+        if (parts.length != 4 || parts[0].equals(nodeId)) {
+            return;
+        }
+        try {
+            long key = Long.parseLong(parts[2]);
+            int id = Integer.parseInt(parts[3]);
+            if ("put".equals(parts[1])) {
+                applyPut(key, id);
+            } else if ("remove".equals(parts[1])) {
+                applyRemove(key, id);
+            }
+        } catch (NumberFormatException e) {
+            log.warn("Ignoring malformed phone index change: {}", body);
+        }
+    }
+
+    private void applyPut(long key, int id) {
+        long stamp = lock.writeLock();
+        try {
+            map.put(key, id);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    // False when the number belongs to some other contact and was left alone
+    private boolean applyRemove(long key, int id) {
+        long stamp = lock.writeLock();
+        try {
+            if (map.get(key) != id) {
+                return false;
+            }
+            map.remove(key);
+            return true;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    private void broadcast(String op, long key, int id) {
+        stringRedisTemplate.convertAndSend(CHANGE_CHANNEL, nodeId + ":" + op + ":" + key + ":" + id);
+    }
+
+    // Returns -1 for anything that is not exactly 10 digits
+    static long parsePhone(String phone) {
+        if (phone == null || phone.length() != 10) {
+            return -1;
+        }
+        long value = 0;
+        for (int i = 0; i < 10; i++) {
+            char c = phone.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    /**
+     * Open-addressing long -> int hash map with linear probing and backward-shift deletion
+     * (no tombstones). Keys must be non-negative; -1 marks a free slot.
+     * Readers may run against a concurrent writer as long as they validate afterwards, so
+     * lookups only touch local copies of the arrays and never loop more than the capacity.
+     */
+    static final class LongIntHashMap {
+        private static final long FREE = -1L;
+        private static final float LOAD_FACTOR = 0.7f;
+
+        private long[] keys;
+        private int[] values;
+        private int size;
+
+        LongIntHashMap(int capacity) {
+            allocate(Integer.highestOneBit(Math.max(capacity, 16) - 1) << 1);
+        }
+
+        int size() {
+            return size;
+        }
+
+        int get(long key) {
+            long[] k = keys;
+            int[] v = values;
+            if (k.length != v.length) {
+                // Caught mid-resize by an optimistic reader; validation will send it to the read lock
+                return -1;
+            }
+            int mask = k.length - 1;
+            int slot = hash(key) & mask;
+            for (int probes = 0; probes < k.length; probes++) {
+                long current = k[slot];
+                if (current == key) {
+                    return v[slot];
+                }
+                if (current == FREE) {
+                    return -1;
+                }
+                slot = (slot + 1) & mask;
+            }
+            return -1;
+        }
+
+        void put(long key, int value) {
+            int mask = keys.length - 1;
+            int slot = hash(key) & mask;
+            while (keys[slot] != FREE) {
+                if (keys[slot] == key) {
+                    values[slot] = value;
+                    return;
+                }
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = key;
+            values[slot] = value;
+            if (++size > keys.length * LOAD_FACTOR) {
+                rehash(keys.length << 1);
+            }
+        }
+
+        void remove(long key) {
+            int mask = keys.length - 1;
+            int slot = hash(key) & mask;
+            while (keys[slot] != key) {
+                if (keys[slot] == FREE) {
+                    return;
+                }
+                slot = (slot + 1) & mask;
+            }
+            // Shift later entries of the probe chain back so lookups never hit a hole
+            int gap = slot;
+            int next = (gap + 1) & mask;
+            while (keys[next] != FREE) {
+                int home = hash(keys[next]) & mask;
+                if (((next - home) & mask) >= ((next - gap) & mask)) {
+                    keys[gap] = keys[next];
+                    values[gap] = values[next];
+                    gap = next;
+                }
+                next = (next + 1) & mask;
+            }
+            keys[gap] = FREE;
+            size--;
+        }
+
+        private void rehash(int capacity) {
+            long[] oldKeys = keys;
+            int[] oldValues = values;
+            allocate(capacity);
+            size = 0;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != FREE) {
+                    put(oldKeys[i], oldValues[i]);
+                }
+            }
+        }
+
+        private void allocate(int capacity) {
+            long[] newKeys = new long[capacity];
+            Arrays.fill(newKeys, FREE);
+            values = new int[capacity];
+            keys = newKeys;
+        }
+
+        // Fibonacci hashing spreads the sequential-looking phone numbers over the table
+        private static int hash(long key) {
+            return (int) ((key * 0x9E3779B97F4A7C15L) >>> 32);
+        }
+    }
+}
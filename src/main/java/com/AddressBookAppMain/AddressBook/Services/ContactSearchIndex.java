@@ -0,0 +1,359 @@
+package com.AddressBookAppMain.AddressBook.Services;
+
+import com.AddressBookAppMain.AddressBook.DTO.ContactChangeDTO;
+import com.AddressBookAppMain.AddressBook.Entity.AddressBook;
+import com.AddressBookAppMain.AddressBook.Repository.AddressBookRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory inverted index over contact name and address.
+ * Every token gets an exact-match posting list plus trigram postings, so substring queries are
+ * answered by intersecting a few sorted int arrays instead of a LIKE '%x%' table scan.
+ * Built from the database before the node reports ready and kept current by AddressBookService. Each node
+ * holds its own copy, so changes are broadcast over Redis pub/sub with the new name and address;
+ * the write-behind path means MySQL may not have them yet.
+ */
+@Slf4j
+@Component
+public class ContactSearchIndex implements MessageListener {
+
+    public static final String CHANGE_CHANNEL = "AddressBook:SearchIndex";
+
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final int NAME = 0;
+    private static final int ADDRESS = 1;
+    private static final char[] FIELD_MARK = {'n', 'a'};
+    private static final int[] FIELD_WEIGHT = {2, 1};
+    private static final int EXACT_BOOST = 3;
+    private static final int BUILD_PAGE_SIZE = 10_000;
+
+    // Lets a node ignore its own broadcasts, it has already applied them
+    private final String nodeId = UUID.randomUUID().toString();
+
+    @Autowired
+    private AddressBookRepository addressBookRepository;
+
+    @Autowired
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final Map<String, IntPostings> postings = new HashMap<>();
+    // id -> lower-cased {name, address}; needed to unindex old values and to verify trigram hits
+    private final Map<Integer, String[]> documents = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile boolean ready;
+
+    // Called by StartupWarmup before the node reports ready
+    public void buildIndex() {
+        long start = System.currentTimeMillis();
+        int lastId = 0;
+        int count = 0;
+        List<AddressBook> page;
+        do {
+            page = addressBookRepository.findByIdGreaterThanOrderByIdAsc(lastId, PageRequest.of(0, BUILD_PAGE_SIZE));
+            lock.writeLock().lock();
+            try {
+                for (AddressBook contact : page) {
+                    // A write that raced ahead of the build already indexed the newer state
+                    if (!documents.containsKey(contact.getId())) {
+                        addDocument(contact);
+                    }
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+            if (!page.isEmpty()) {
+                lastId = page.get(page.size() - 1).getId();
+            }
+            count += page.size();
+        } while (page.size() == BUILD_PAGE_SIZE);
+        ready = true;
+        log.info("Search index built with {} contacts in {} ms", count, System.currentTimeMillis() - start);
+    }
+
+    // Until the build completes a search would silently miss the contacts not loaded yet
+    public boolean isReady() {
+        return ready;
+    }
+
+    public void index(AddressBook contact) {
+        applyIndex(contact);
+        try {
+            ContactChangeDTO change = new ContactChangeDTO(contact.getId(), contact.getName(), contact.getPhone(), contact.getAddress());
+            stringRedisTemplate.convertAndSend(CHANGE_CHANNEL, nodeId + ":index:" + objectMapper.writeValueAsString(change));
+        } catch (JsonProcessingException e) {
+            log.warn("Could not broadcast search index change of contact {}: {}", contact.getId(), e.getMessage());
+        }
+    }
+
+    public void remove(int id) {
+        applyRemove(id);
+        stringRedisTemplate.convertAndSend(CHANGE_CHANNEL, nodeId + ":remove:" + id);
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        // nodeId:index:<contact json> or nodeId:remove:<id>
+        String[] parts = body.split(":", 3);
+        if (parts.length != 3 || parts[0].equals(nodeId)) {
+            return;
+        }
+        try {
+            if ("index".equals(parts[1])) {
+                ContactChangeDTO change = objectMapper.readValue(parts[2], ContactChangeDTO.class);
+                AddressBook contact = new AddressBook();
+                contact.setId(change.getId());
+                contact.setName(change.getName());
+                contact.setPhone(change.getPhone());
+                contact.setAddress(change.getAddress());
+                applyIndex(contact);
+            } else if ("remove".equals(parts[1])) {
+                applyRemove(Integer.parseInt(parts[2]));
+            }
+        } catch (JsonProcessingException | NumberFormatException e) {
+            log.warn("Ignoring malformed search index change: {}", body);
+        }
+    }
+
+    private void applyIndex(AddressBook contact) {
+        lock.writeLock().lock();
+        try {
+            removeDocument(contact.getId());
+            addDocument(contact);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void applyRemove(int id) {
+        lock.writeLock().lock();
+        try {
+            removeDocument(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the ids of contacts matching every query token, best first.
+     * Whole-token hits score higher than substring hits, and name hits higher than address hits.
+     */
+    public List<Integer> search(String query, int limit) {
+        List<String> tokens = new ArrayList<>(tokenize(normalize(query)));
+        if (tokens.isEmpty()) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            Map<Integer, Integer> scores = null;
+            for (String token : tokens) {
+                Map<Integer, Integer> tokenScores = new HashMap<>();
+                scoreField(token, NAME, tokenScores);
+                scoreField(token, ADDRESS, tokenScores);
+                if (scores == null) {
+                    scores = tokenScores;
+                } else {
+                    scores.keySet().retainAll(tokenScores.keySet());
+                    scores.replaceAll((id, score) -> score + tokenScores.get(id));
+                }
+                if (scores.isEmpty()) {
+                    return List.of();
+                }
+            }
+            return scores.entrySet().stream()
+                    .sorted(Map.Entry.<Integer, Integer>comparingByValue(Comparator.reverseOrder())
+                            .thenComparing(Map.Entry.comparingByKey()))
+                    .limit(limit)
+                    .map(Map.Entry::getKey)
+                    .collect(Collectors.toList());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void scoreField(String token, int field, Map<Integer, Integer> scores) {
+        int weight = FIELD_WEIGHT[field];
+        IntPostings exact = postings.get(tokenTerm(field, token));
+        if (exact != null) {
+            for (int i = 0; i < exact.size; i++) {
+                scores.merge(exact.ids[i], weight * EXACT_BOOST, Integer::sum);
+            }
+        }
+        if (token.length() < 3) {
+            return;
+        }
+        for (int id : trigramCandidates(field, token)) {
+            // Trigram hits can be false positives (grams present but not adjacent), so check the text
+            if ((exact == null || !exact.contains(id)) && documents.get(id)[field].contains(token)) {
+                scores.merge(id, weight, Integer::sum);
+            }
+        }
+    }
+
+    private int[] trigramCandidates(int field, String token) {
+        List<IntPostings> lists = new ArrayList<>();
+        for (String gram : trigrams(token)) {
+            IntPostings list = postings.get(trigramTerm(field, gram));
+            if (list == null) {
+                return new int[0];
+            }
+            lists.add(list);
+        }
+        lists.sort(Comparator.comparingInt(list -> list.size));
+        int[] result = Arrays.copyOf(lists.get(0).ids, lists.get(0).size);
+        for (int i = 1; i < lists.size() && result.length > 0; i++) {
+            result = lists.get(i).intersect(result);
+        }
+        return result;
+    }
+
+    private void addDocument(AddressBook contact) {
+        String[] fields = {normalize(contact.getName()), normalize(contact.getAddress())};
+        documents.put(contact.getId(), fields);
+        for (String term : terms(fields)) {
+            postings.computeIfAbsent(term, key -> new IntPostings()).add(contact.getId());
+        }
+    }
+
+    private void removeDocument(int id) {
+        String[] fields = documents.remove(id);
+        if (fields == null) {
+            return;
+        }
+        for (String term : terms(fields)) {
+            IntPostings list = postings.get(term);
+            if (list != null && list.remove(id) && list.size == 0) {
+                postings.remove(term);
+            }
+        }
+    }
+
+    private static Set<String> terms(String[] fields) {
+        Set<String> terms = new LinkedHashSet<>();
+        for (int field = 0; field < fields.length; field++) {
+            for (String token : tokenize(fields[field])) {
+                terms.add(tokenTerm(field, token));
+                for (String gram : trigrams(token)) {
+                    terms.add(trigramTerm(field, gram));
+                }
+            }
+        }
+        return terms;
+    }
+
+    private static String tokenTerm(int field, String token) {
+        return FIELD_MARK[field] + "#" + token;
+    }
+
+    private static String trigramTerm(int field, String gram) {
+        return FIELD_MARK[field] + "~" + gram;
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.toLowerCase(Locale.ROOT);
+    }
+
+    private static Set<String> tokenize(String text) {
+        Set<String> tokens = new LinkedHashSet<>();
+        for (String token : TOKEN_SEPARATOR.split(text)) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    private static Set<String> trigrams(String token) {
+        Set<String> grams = new LinkedHashSet<>();
+        for (int i = 0; i + 3 <= token.length(); i++) {
+            grams.add(token.substring(i, i + 3));
+        }
+        return grams;
+    }
+
+    // Sorted, duplicate-free list of contact ids backed by a plain int[]
+    static final class IntPostings {
+        private int[] ids = new int[4];
+        private int size;
+
+        void add(int id) {
+            // Ids mostly arrive in increasing order, which makes this an append
+            if (size > 0 && ids[size - 1] >= id) {
+                int pos = Arrays.binarySearch(ids, 0, size, id);
+                if (pos >= 0) {
+                    return;
+                }
+                insertAt(-pos - 1, id);
+                return;
+            }
+            insertAt(size, id);
+        }
+
+        boolean remove(int id) {
+            int pos = Arrays.binarySearch(ids, 0, size, id);
+            if (pos < 0) {
+                return false;
+            }
+            System.arraycopy(ids, pos + 1, ids, pos, size - pos - 1);
+            size--;
+            return true;
+        }
+
+        boolean contains(int id) {
+            return Arrays.binarySearch(ids, 0, size, id) >= 0;
+        }
+
+        int[] intersect(int[] sorted) {
+            int[] out = new int[Math.min(size, sorted.length)];
+            int n = 0;
+            for (int i = 0, j = 0; i < size && j < sorted.length; ) {
+                if (ids[i] < sorted[j]) {
+                    i++;
+                } else if (ids[i] > sorted[j]) {
+                    j++;
+                } else {
+                    out[n++] = ids[i];
+                    i++;
+                    j++;
+                }
+            }
+            return Arrays.copyOf(out, n);
+        }
+
+        private void insertAt(int pos, int id) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size + (size >> 1) + 1);
+            }
+            System.arraycopy(ids, pos, ids, pos + 1, size - pos);
+            ids[pos] = id;
+            size++;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.AddressBookAppMain.AddressBook.Services;
+
+import com.AddressBookAppMain.AddressBook.Entity.AddressBook;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.scripting.support.ResourceScriptSource;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Validators for conditional GETs. The contact list is tagged with a collection version that
+ * every write bumps in Redis, so a repeat poll is answered from one GET without reading the
+ * index. A single contact is tagged with a hash of its fields, taken from the cached copy.
+ */
+@Slf4j
+@Component
+public class ContactVersions {
+
+    // Also bumped by patch_index.lua, in the same step as each write patches the contact index
+    static final String REDIS_KEY_VERSION = "AddressBook:Version";
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final DefaultRedisScript<Long> bumpScript = new DefaultRedisScript<>();
+
+    public ContactVersions(StringRedisTemplate stringRedisTemplate) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        bumpScript.setScriptSource(new ResourceScriptSource(new ClassPathResource("scripts/bump_version.lua")));
+        bumpScript.setResultType(Long.class);
+    }
+
+    // Writes bump inside patch_index.lua, right after the index is patched; this only seeds a lost version
+    public long bump() {
+        return stringRedisTemplate.execute(bumpScript, List.of(REDIS_KEY_VERSION));
+    }
+
+    // Null when there is no version yet; read before an index rebuild to detect writes during it
+    public String current() {
+        return stringRedisTemplate.opsForValue().get(REDIS_KEY_VERSION);
+    }
+
+    // Null when Redis is unreachable: without the version there is nothing safe to validate against
+    public String collectionETag() {
+        try {
+            String version = current();
+            return "\"book-" + (version != null ? version : String.valueOf(bump())) + "\"";
+        } catch (DataAccessException e) {
+            log.warn("Collection version unavailable, serving the contact list without an ETag: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    // Strong ETag: changes whenever any serialized field does (64-bit FNV-1a over the fields)
+    public static String etag(AddressBook contact) {
+        long hash = FNV_OFFSET;
+        for (String field : new String[]{contact.getName(), contact.getPhone(), contact.getAddress()}) {
+            if (field == null) {
+                hash = (hash ^ 0xffff) * FNV_PRIME;
+                continue;
+            }
+            for (int i = 0; i < field.length(); i++) {
+                hash = (hash ^ field.charAt(i)) * FNV_PRIME;
+            }
+            // Field separator, so ("ab", "c") and ("a", "bc") differ
+            hash = (hash ^ 0x1f) * FNV_PRIME;
+        }
+        return "\"" + contact.getId() + "-" + Long.toHexString(hash) + "\"";
+    }
+}
@@ -0,0 +1,62 @@
+package com.AddressBookAppMain.AddressBook.Services;
+
+import com.AddressBookAppMain.AddressBook.DTO.EmailJobDTO;
+import com.AddressBookAppMain.AddressBook.Security.RabbitMQConfig;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.mail.MessagingException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+/**
+ * Queues emails on RabbitMQ instead of talking SMTP on the request thread.
+ * A job counts as accepted once the broker has confirmed it; EmailWorker does the actual send.
+ */
+@Slf4j
+@Service
+public class EmailOutbox {
+
+    @Autowired
+    private RabbitMQProducer rabbitMQProducer;
+
+    @Autowired
+    private Jackson2JsonMessageConverter emailMessageConverter;
+
+    @Autowired
+    private EmailService emailService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    public void enqueue(String to, String subject, String body) throws MessagingException {
+        Message message = emailMessageConverter.toMessage(new EmailJobDTO(to, subject, body), new MessageProperties());
+        try {
+            rabbitMQProducer.publishAndConfirm(RabbitMQConfig.EMAIL_QUEUE, message);
+            meterRegistry.counter("addressbook.email.outbox", "outcome", "queued").increment();
+            log.info("Email to {} queued", to);
+        } catch (AmqpException e) {
+            // Broker unavailable: fall back to the old inline send rather than dropping the email
+            meterRegistry.counter("addressbook.email.outbox", "outcome", "inline").increment();
+            log.error("Could not queue email to {}, sending inline: {}", to, e.getMessage());
+            emailService.sendEmail(to, subject, body);
+        }
+    }
+
+    /**
+     * Queues a registration confirmation email.
+     */
+    public void enqueueRegistrationEmail(String to) {
+        String subject = "Welcome to AddressBook App!";
+        String body = "<h1>Registration Successful!</h1><p>Thank you for signing up.</p>";
+
+        try {
+            enqueue(to, subject, body);
+        } catch (MessagingException e) {
+            log.error("Failed to send registration email to {}: {}", to, e.getMessage());
+        }
+    }
+}
@@ -1,5 +1,9 @@
 package com.AddressBookAppMain.AddressBook.Services;
 
+import com.AddressBookAppMain.AddressBook.DTO.EmailJobDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.mail.MessagingException;
 import jakarta.mail.internet.MimeMessage;
 import lombok.extern.slf4j.Slf4j;
@@ -7,14 +11,34 @@ import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
 @Slf4j  // ✅ Lombok annotation for SLF4J logging
 @Service
 public class EmailService {
 
     private final JavaMailSender mailSender;
+    private final SmtpTransportPool transportPool;
+    private final Timer sendSuccess;
+    private final Timer sendFailure;
+    private final Timer batchSend;
+    private final Counter batchFailures;
 
-    public EmailService(JavaMailSender mailSender) {
+    public EmailService(JavaMailSender mailSender, SmtpTransportPool transportPool, MeterRegistry meterRegistry) {
         this.mailSender = mailSender;
+        this.transportPool = transportPool;
+        this.sendSuccess = sendTimer(meterRegistry, "success");
+        this.sendFailure = sendTimer(meterRegistry, "failure");
+        this.batchSend = Timer.builder("addressbook.email.batch")
+                .description("Time to send a batch of emails")
+                .register(meterRegistry);
+        this.batchFailures = Counter.builder("addressbook.email.batch.failures")
+                .description("Emails of a batch that could not be delivered")
+                .register(meterRegistry);
     }
 
     /**
@@ -23,31 +47,63 @@ public class EmailService {
     public void sendEmail(String to, String subject, String body) throws MessagingException {
         log.info("Preparing to send email to: {}", to);
 
-        MimeMessage message = mailSender.createMimeMessage();
-        MimeMessageHelper helper = new MimeMessageHelper(message, true);
-
-        helper.setTo(to);
-        helper.setSubject(subject);
-        helper.setText(body, true); // 'true' enables HTML content
-
-        mailSender.send(message);
+        long start = System.nanoTime();
+        try {
+            transportPool.send(createMessage(to, subject, body));
+        } catch (MessagingException | RuntimeException e) {
+            sendFailure.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+        sendSuccess.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
 
         log.info("Email sent successfully to: {}", to);
     }
 
     /**
-     * Sends a registration confirmation email.
+     * Sends many emails over a single SMTP connection and returns the ones that failed.
      */
-    public void sendRegistrationEmail(String to) {
-        String subject = "Welcome to AddressBook App!";
-        String body = "<h1>Registration Successful!</h1><p>Thank you for signing up.</p>";
+    public List<EmailJobDTO> sendBatch(List<EmailJobDTO> jobs) throws MessagingException {
+        log.info("Preparing to send batch of {} emails", jobs.size());
+        long start = System.nanoTime();
 
-        try {
-            log.info("Sending registration email to: {}", to);
-            sendEmail(to, subject, body);
-            log.info("Registration email sent successfully to: {}", to);
-        } catch (MessagingException e) {
-            log.error("Failed to send registration email to {}: {}", to, e.getMessage());
+        List<MimeMessage> messages = new ArrayList<>(jobs.size());
+        Map<MimeMessage, EmailJobDTO> jobsByMessage = new IdentityHashMap<>();
+        for (EmailJobDTO job : jobs) {
+            MimeMessage message = createMessage(job.getTo(), job.getSubject(), job.getBody());
+            messages.add(message);
+            jobsByMessage.put(message, job);
+        }
+
+        List<MessagingException> errors = new ArrayList<>();
+        List<EmailJobDTO> failed = new ArrayList<>();
+        for (MimeMessage message : transportPool.sendAll(messages, errors)) {
+            failed.add(jobsByMessage.get(message));
         }
+        for (int i = 0; i < failed.size(); i++) {
+            log.error("Failed to send email to {}: {}", failed.get(i).getTo(), errors.get(i).getMessage());
+        }
+
+        batchSend.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        batchFailures.increment(failed.size());
+
+        log.info("Batch sent: {} delivered, {} failed", jobs.size() - failed.size(), failed.size());
+        return failed;
+    }
+
+    private static Timer sendTimer(MeterRegistry registry, String outcome) {
+        return Timer.builder("addressbook.email.send")
+                .description("Time to deliver one email over SMTP")
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+
+    private MimeMessage createMessage(String to, String subject, String body) throws MessagingException {
+        MimeMessage message = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, true);
+
+        helper.setTo(to);
+        helper.setSubject(subject);
+        helper.setText(body, true); // 'true' enables HTML content
+        return message;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,84 @@
+package com.AddressBookAppMain.AddressBook.Services;
+
+import com.AddressBookAppMain.AddressBook.DTO.EmailJobDTO;
+import com.AddressBookAppMain.AddressBook.Security.RabbitMQConfig;
+import jakarta.mail.MessagingException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.amqp.support.converter.MessageConversionException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Slf4j
+@Service
+public class EmailWorker {
+
+    static final String ATTEMPT_HEADER = "x-attempt";
+
+    @Autowired
+    private EmailService emailService;
+
+    @Autowired
+    private RabbitMQProducer rabbitMQProducer;
+
+    @Autowired
+    private Jackson2JsonMessageConverter emailMessageConverter;
+
+    @Value("${addressbook.email.max-attempts:5}")
+    private int maxAttempts;
+
+    // Up to batch-size queued jobs go out together over one pooled SMTP connection. Each failed job goes
+    // to the retry queue and comes back after retry-delay; after the last attempt it is parked on the DLQ.
+    // The batch is acked as a whole, so a failure is never thrown: that would dead-letter the sent jobs too.
+    @RabbitListener(queues = RabbitMQConfig.EMAIL_QUEUE, containerFactory = "emailListenerContainerFactory")
+    public void sendQueuedEmails(List<Message> messages) {
+        List<EmailJobDTO> jobs = new ArrayList<>(messages.size());
+        Map<EmailJobDTO, Message> messagesByJob = new IdentityHashMap<>();
+        for (Message message : messages) {
+            try {
+                message.getMessageProperties().setInferredArgumentType(EmailJobDTO.class);
+                EmailJobDTO job = (EmailJobDTO) emailMessageConverter.fromMessage(message);
+                jobs.add(job);
+                messagesByJob.put(job, message);
+            } catch (MessageConversionException | ClassCastException e) {
+                log.error("Parking unreadable email job on {}: {}", RabbitMQConfig.EMAIL_DEAD_LETTER_QUEUE, e.getMessage());
+                rabbitMQProducer.republish(RabbitMQConfig.EMAIL_DEAD_LETTER_QUEUE, message, Map.of());
+            }
+        }
+        if (jobs.isEmpty()) {
+            return;
+        }
+
+        List<EmailJobDTO> failed;
+        try {
+            failed = emailService.sendBatch(jobs);
+        } catch (MessagingException | RuntimeException e) {
+            // No message could be built or no connection was available; the whole batch tries again
+            log.warn("Email batch of {} failed: {}", jobs.size(), e.getMessage());
+            failed = jobs;
+        }
+        for (EmailJobDTO job : failed) {
+            retryOrPark(job, messagesByJob.get(job));
+        }
+    }
+
+    private void retryOrPark(EmailJobDTO job, Message message) {
+        Object header = message.getMessageProperties().getHeaders().get(ATTEMPT_HEADER);
+        int attempt = header instanceof Number ? ((Number) header).intValue() : 1;
+        if (attempt >= maxAttempts) {
+            log.error("Email to {} failed after {} attempts, parking it on {}", job.getTo(), attempt, RabbitMQConfig.EMAIL_DEAD_LETTER_QUEUE);
+            rabbitMQProducer.republish(RabbitMQConfig.EMAIL_DEAD_LETTER_QUEUE, message, Map.of());
+            return;
+        }
+        log.warn("Email to {} failed (attempt {}), retrying later", job.getTo(), attempt);
+        rabbitMQProducer.republish(RabbitMQConfig.EMAIL_RETRY_QUEUE, message, Map.of(ATTEMPT_HEADER, attempt + 1));
+    }
+}
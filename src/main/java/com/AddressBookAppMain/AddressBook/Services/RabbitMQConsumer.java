@@ -1,13 +1,143 @@
 package com.AddressBookAppMain.AddressBook.Services;
 
+import com.AddressBookAppMain.AddressBook.DTO.ContactChangeDTO;
+import com.AddressBookAppMain.AddressBook.Entity.AddressBook;
+import com.AddressBookAppMain.AddressBook.Repository.AddressBookRepository;
+import com.AddressBookAppMain.AddressBook.Security.RabbitMQConfig;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.core.BatchMessageListener;
+import org.springframework.amqp.core.Message;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.rabbit.annotation.RabbitListenerConfigurer;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerEndpoint;
+import org.springframework.amqp.rabbit.listener.RabbitListenerEndpointRegistrar;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.NonTransientDataAccessException;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Flushes write-behind contact changes to MySQL. Each partition queue gets its own batching
+ * container; repeated changes to one contact within a batch collapse into the last one, and the
+ * whole batch is written in a single JDBC batch transaction.
+ */
+@Slf4j
 @Service
-public class RabbitMQConsumer {
+public class RabbitMQConsumer implements RabbitListenerConfigurer {
+
+    private static final long RETRY_BACKOFF_MS = 500;
+    private static final long MAX_RETRY_BACKOFF_MS = 10_000;
+
+    @Autowired
+    private AddressBookRepository addressBookRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private RabbitMQProducer rabbitMQProducer;
 
-    @RabbitListener(queues = "addressbook_queue")
+    @Autowired
+    private SimpleRabbitListenerContainerFactory contactChangeListenerContainerFactory;
+
+    @Value("${addressbook.write-behind.partitions:4}")
+    private int partitions;
+
+    @Value("${addressbook.write-behind.max-attempts:5}")
+    private int maxAttempts;
+
+    @RabbitListener(queues = RabbitMQConfig.CONTACT_QUEUE)
     public void receiveMessage(String message) {
-        System.out.println("📩 Received message: " + message);
+        log.debug("Received message: {}", message);
+    }
+
+    @Override
+    public void configureRabbitListeners(RabbitListenerEndpointRegistrar registrar) {
+        for (int partition = 0; partition < partitions; partition++) {
+            SimpleRabbitListenerEndpoint endpoint = new SimpleRabbitListenerEndpoint();
+            endpoint.setId("contact-changes-" + partition);
+            endpoint.setQueueNames(RabbitMQConfig.contactChangeQueue(partition));
+            endpoint.setMessageListener((BatchMessageListener) this::flushContactChanges);
+            registrar.registerEndpoint(endpoint, contactChangeListenerContainerFactory);
+        }
+    }
+
+    // The batch is acked only after this returns, i.e. after the commit. Failed writes are retried in
+    // place, which holds back the partition and so keeps later changes of the same contact behind them.
+    public void flushContactChanges(List<Message> messages) {
+        // A partition has a single active consumer, so batch order is publish order and the last write wins
+        Map<Integer, AddressBook> latest = new LinkedHashMap<>();
+        Map<Integer, Message> sources = new LinkedHashMap<>();
+        for (Message message : messages) {
+            try {
+                ContactChangeDTO change = objectMapper.readValue(message.getBody(), ContactChangeDTO.class);
+                AddressBook contact = new AddressBook();
+                contact.setId(change.getId());
+                contact.setName(change.getName());
+                contact.setPhone(change.getPhone());
+                contact.setAddress(change.getAddress());
+                latest.put(change.getId(), contact);
+                sources.put(change.getId(), message);
+            } catch (IOException e) {
+                // Redelivery cannot fix a record that does not parse
+                deadLetter(message, e);
+            }
+        }
+        if (latest.isEmpty()) {
+            return;
+        }
+
+        long backoff = RETRY_BACKOFF_MS;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                addressBookRepository.batchUpdate(new ArrayList<>(latest.values()));
+                log.info("Flushed {} contact changes from {} messages to MySQL", latest.size(), messages.size());
+                return;
+            } catch (NonTransientDataAccessException e) {
+                // Some record is bad; find it below instead of retrying the same batch
+                log.warn("Contact change batch rejected by MySQL, writing records one by one: {}", e.getMessage());
+                break;
+            } catch (RuntimeException e) {
+                if (attempt >= maxAttempts) {
+                    // Still down: let the container requeue the batch, nothing is lost
+                    throw e;
+                }
+                log.warn("Flushing {} contact changes failed (attempt {}), retrying in {} ms: {}",
+                        latest.size(), attempt, backoff, e.getMessage());
+                sleep(backoff);
+                backoff = Math.min(backoff * 2, MAX_RETRY_BACKOFF_MS);
+            }
+        }
+
+        for (AddressBook contact : latest.values()) {
+            try {
+                addressBookRepository.batchUpdate(List.of(contact));
+            } catch (NonTransientDataAccessException e) {
+                deadLetter(sources.get(contact.getId()), e);
+            }
+        }
+    }
+
+    private void deadLetter(Message message, Exception cause) {
+        log.error("Parking contact change on {}: {}", RabbitMQConfig.CONTACT_CHANGES_DEAD_LETTER_QUEUE, cause.getMessage());
+        rabbitMQProducer.republish(RabbitMQConfig.CONTACT_CHANGES_DEAD_LETTER_QUEUE, message,
+                Map.of("x-exception-message", String.valueOf(cause.getMessage())));
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while retrying a contact change flush", e);
+        }
     }
-}
\ No newline at end of file
+}
@@ -1,19 +1,131 @@
 package com.AddressBookAppMain.AddressBook.Services;
 
+import com.AddressBookAppMain.AddressBook.DTO.ContactChangeDTO;
+import com.AddressBookAppMain.AddressBook.Security.RabbitMQConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.AmqpTimeoutException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
-import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Publishes with correlated publisher confirms. Every message gets a correlation id and is
+ * tracked until the broker acks it; nacked or unroutable (mandatory) messages are republished a
+ * few times. Confirms arrive asynchronously and the broker acks many deliveries at once, so
+ * publishers never wait per message unless they ask for it with publishAndConfirm.
+ */
+@Slf4j
 @Service
 public class RabbitMQProducer {
 
-    private static final String QUEUE_NAME = "addressbook_queue";
+    private static final long CONFIRM_TIMEOUT_MS = 5000;
+    private static final int MAX_PUBLISH_ATTEMPTS = 3;
+
+    private final RabbitTemplate rabbitTemplate;
+    private final Jackson2JsonMessageConverter jsonMessageConverter;
+    private final int contactChangePartitions;
+    private final Counter acked;
+    private final Counter republished;
+    private final Counter failed;
 
-    @Autowired
-    private RabbitTemplate rabbitTemplate;
+    public RabbitMQProducer(RabbitTemplate rabbitTemplate,
+                            Jackson2JsonMessageConverter jsonMessageConverter,
+                            MeterRegistry meterRegistry,
+                            @Value("${addressbook.write-behind.partitions:4}") int contactChangePartitions) {
+        this.rabbitTemplate = rabbitTemplate;
+        this.jsonMessageConverter = jsonMessageConverter;
+        this.contactChangePartitions = contactChangePartitions;
+        this.acked = published(meterRegistry, "acked");
+        this.republished = published(meterRegistry, "republished");
+        this.failed = published(meterRegistry, "failed");
+    }
 
+    // Fire-and-track: returns right away, the confirm is handled in the background
     public void sendMessage(String message) {
-        rabbitTemplate.convertAndSend(QUEUE_NAME, message);
-        System.out.println("✅ Sent message: " + message);
+        Message amqpMessage = rabbitTemplate.getMessageConverter().toMessage(message, new MessageProperties());
+        publish(RabbitMQConfig.CONTACT_QUEUE, amqpMessage, 1).whenComplete((accepted, e) -> {
+            if (e != null) {
+                log.error("Publishing test message failed: {}", e.getMessage());
+            }
+        });
+        log.debug("Sent message: {}", message);
+    }
+
+    // Returns once the broker has confirmed the (persistent) record, so the change survives a crash of this node.
+    // Changes of one contact always land on the same partition queue, which keeps them in order.
+    public void publishContactChange(ContactChangeDTO change) {
+        Message message = jsonMessageConverter.toMessage(change, new MessageProperties());
+        publishAndConfirm(RabbitMQConfig.contactChangeQueue(Math.floorMod(change.getId(), contactChangePartitions)), message);
+    }
+
+    /**
+     * Publishes to a queue through the default exchange and blocks until the broker has confirmed it.
+     * Throws AmqpException when it could not be confirmed, so the caller can fall back.
+     */
+    public void publishAndConfirm(String queue, Message message) {
+        try {
+            if (!publish(queue, message, 1).get(CONFIRM_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+                throw new AmqpException("Broker did not accept message for " + queue);
+            }
+        } catch (TimeoutException e) {
+            throw new AmqpTimeoutException("No publisher confirm for " + queue + " within " + CONFIRM_TIMEOUT_MS + " ms");
+        } catch (ExecutionException e) {
+            throw new AmqpException("Publishing to " + queue + " failed", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AmqpException("Interrupted while waiting for a publisher confirm", e);
+        }
+    }
+
+    // Sends a persistent copy of a received message, e.g. to a retry or dead-letter queue
+    public void republish(String queue, Message received, Map<String, Object> headers) {
+        MessageProperties properties = new MessageProperties();
+        properties.setContentType(received.getMessageProperties().getContentType());
+        properties.getHeaders().putAll(received.getMessageProperties().getHeaders());
+        properties.getHeaders().putAll(headers);
+        publishAndConfirm(queue, new Message(received.getBody(), properties));
+    }
+
+    // Completes with true once acked, false when the broker kept refusing it
+    private CompletableFuture<Boolean> publish(String queue, Message message, int attempt) {
+        CorrelationData correlation = new CorrelationData(UUID.randomUUID().toString());
+        rabbitTemplate.send("", queue, message, correlation);
+        // Async: the confirm arrives on the connection's thread, which must not publish itself
+        return correlation.getFuture().thenComposeAsync(confirm -> {
+            if (confirm.isAck() && correlation.getReturned() == null) {
+                acked.increment();
+                return CompletableFuture.completedFuture(true);
+            }
+            String reason = correlation.getReturned() != null ? correlation.getReturned().getReplyText() : confirm.getReason();
+            if (attempt < MAX_PUBLISH_ATTEMPTS) {
+                republished.increment();
+                log.warn("Message {} to {} not accepted ({}), republishing", correlation.getId(), queue, reason);
+                return publish(queue, message, attempt + 1);
+            }
+            failed.increment();
+            log.error("Giving up on message {} to {} after {} attempts: {}", correlation.getId(), queue, attempt, reason);
+            return CompletableFuture.completedFuture(false);
+        });
+    }
+
+    private static Counter published(MeterRegistry registry, String outcome) {
+        return Counter.builder("addressbook.amqp.published")
+                .description("Messages published with publisher confirms, by how the broker answered")
+                .tag("outcome", outcome)
+                .register(registry);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,152 @@
+package com.AddressBookAppMain.AddressBook.Services;
+
+import jakarta.mail.MessagingException;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Keeps authenticated SMTP connections open between sends.
+ * JavaMailSenderImpl.send() connects, runs STARTTLS and AUTH for every call; here a connection is
+ * reused until the server drops it or it has carried max-messages-per-connection messages.
+ */
+@Slf4j
+@Component
+public class SmtpTransportPool implements DisposableBean {
+
+    // Connections idle for longer than this get a NOOP before reuse, the server may have closed them
+    private static final long VALIDATE_AFTER_IDLE_MS = 5000;
+
+    private final JavaMailSenderImpl mailSender;
+    private final int maxMessagesPerConnection;
+    private final Semaphore permits;
+    private final LinkedBlockingQueue<PooledTransport> idle = new LinkedBlockingQueue<>();
+
+    public SmtpTransportPool(JavaMailSenderImpl mailSender,
+                             @Value("${addressbook.mail.pool-size:8}") int poolSize,
+                             @Value("${addressbook.mail.max-messages-per-connection:100}") int maxMessagesPerConnection) {
+        this.mailSender = mailSender;
+        this.maxMessagesPerConnection = maxMessagesPerConnection;
+        this.permits = new Semaphore(poolSize);
+    }
+
+    public void send(MimeMessage message) throws MessagingException {
+        List<MessagingException> errors = new ArrayList<>();
+        sendAll(List.of(message), errors);
+        if (!errors.isEmpty()) {
+            throw errors.get(0);
+        }
+    }
+
+    /**
+     * Sends the messages over one pooled connection, reconnecting if it breaks midway.
+     * Returns the messages that could not be sent, with the matching cause appended to errors.
+     */
+    public List<MimeMessage> sendAll(List<MimeMessage> messages, List<MessagingException> errors) throws MessagingException {
+        acquirePermit();
+        List<MimeMessage> failed = new ArrayList<>();
+        PooledTransport pooled = idle.poll();
+        try {
+            for (int i = 0; i < messages.size(); i++) {
+                MimeMessage message = messages.get(i);
+                try {
+                    pooled = usable(pooled);
+                } catch (MessagingException e) {
+                    // No connection to be had right now; the rest of the batch fails with the same cause
+                    log.warn("Could not open SMTP connection, {} messages left unsent: {}", messages.size() - i, e.getMessage());
+                    pooled = null;
+                    for (MimeMessage unsent : messages.subList(i, messages.size())) {
+                        failed.add(unsent);
+                        errors.add(e);
+                    }
+                    break;
+                }
+                try {
+                    message.saveChanges();
+                    pooled.transport.sendMessage(message, message.getAllRecipients());
+                    pooled.sent++;
+                } catch (MessagingException e) {
+                    failed.add(message);
+                    errors.add(e);
+                    if (!pooled.transport.isConnected()) {
+                        close(pooled);
+                        pooled = null;
+                    }
+                }
+            }
+            if (pooled != null) {
+                pooled.lastUsed = System.currentTimeMillis();
+                idle.offer(pooled);
+                pooled = null;
+            }
+        } finally {
+            if (pooled != null) {
+                close(pooled);
+            }
+            permits.release();
+        }
+        return failed;
+    }
+
+    private PooledTransport usable(PooledTransport pooled) throws MessagingException {
+        if (pooled != null && pooled.sent < maxMessagesPerConnection
+                && (System.currentTimeMillis() - pooled.lastUsed < VALIDATE_AFTER_IDLE_MS || pooled.transport.isConnected())) {
+            return pooled;
+        }
+        if (pooled != null) {
+            close(pooled);
+        }
+        return connect();
+    }
+
+    private PooledTransport connect() throws MessagingException {
+        Transport transport = mailSender.getSession().getTransport(mailSender.getProtocol());
+        transport.connect(mailSender.getHost(), mailSender.getPort(), mailSender.getUsername(), mailSender.getPassword());
+        log.debug("Opened SMTP connection to {}:{}", mailSender.getHost(), mailSender.getPort());
+        return new PooledTransport(transport);
+    }
+
+    private void acquirePermit() throws MessagingException {
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MessagingException("Interrupted while waiting for an SMTP connection", e);
+        }
+    }
+
+    private static void close(PooledTransport pooled) {
+        try {
+            pooled.transport.close();
+        } catch (MessagingException e) {
+            log.debug("Error closing SMTP connection: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public void destroy() {
+        PooledTransport pooled;
+        while ((pooled = idle.poll()) != null) {
+            close(pooled);
+        }
+    }
+
+    private static final class PooledTransport {
+        private final Transport transport;
+        private int sent;
+        private long lastUsed = System.currentTimeMillis();
+
+        private PooledTransport(Transport transport) {
+            this.transport = transport;
+        }
+    }
+}
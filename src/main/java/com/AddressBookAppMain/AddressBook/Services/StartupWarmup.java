@@ -0,0 +1,201 @@
+package com.AddressBookAppMain.AddressBook.Services;
+
+import com.AddressBookAppMain.AddressBook.Entity.AddressBook;
+import com.AddressBookAppMain.AddressBook.Interfaces.IAddressBookService;
+import com.AddressBookAppMain.AddressBook.Repository.AddressBookRepository;
+import com.AddressBookAppMain.AddressBook.Security.JwtUtil;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.env.Environment;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Prepares a freshly started node before it reports ready. Application runners finish before
+ * Spring Boot publishes ReadinessState.ACCEPTING_TRAFFIC, so /actuator/health/readiness stays
+ * down until the search and phone indexes are built, the contact caches are filled and the hot
+ * request paths have been compiled. The indexes come first so the warm-up requests exercise them.
+ * Every node also publishes the ids its near cache sees most, which the next node to start preloads.
+ */
+@Slf4j
+@Component
+public class StartupWarmup implements ApplicationRunner {
+
+    private static final String HOT_IDS_KEY = "AddressBook:HotIds";
+    private static final Duration HOT_IDS_TTL = Duration.ofHours(1);
+    // Matches the cap of IAddressBookService.getContactsByIds
+    private static final int LOOKUP_CHUNK = 500;
+
+    @Autowired
+    private IAddressBookService addressBookService;
+
+    @Autowired
+    private AddressBookRepository addressBookRepository;
+
+    @Autowired
+    private ContactNearCache contactNearCache;
+
+    @Autowired
+    private ContactSearchIndex contactSearchIndex;
+
+    @Autowired
+    private ContactPhoneIndex contactPhoneIndex;
+
+    @Autowired
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private Environment environment;
+
+    @Value("${addressbook.warmup.enabled:false}")
+    private boolean enabled;
+
+    @Value("${addressbook.warmup.hot-contacts:1000}")
+    private int hotContacts;
+
+    @Value("${addressbook.warmup.jwt-iterations:5000}")
+    private int jwtIterations;
+
+    @Value("${addressbook.warmup.http-rounds:500}")
+    private int httpRounds;
+
+    @Value("${addressbook.warmup.max-duration:30s}")
+    private Duration maxDuration;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        // Built even with the warm-up off; a failure here must stop the node from ever reporting ready
+        contactSearchIndex.buildIndex();
+        contactPhoneIndex.buildIndex();
+        if (!enabled) {
+            return;
+        }
+        long start = System.nanoTime();
+        long deadline = start + maxDuration.toNanos();
+
+        // A failed phase only costs warmth; it must never keep the node from starting
+        List<Integer> ids = List.of();
+        int preloaded = 0;
+        try {
+            ids = hotIds();
+            preloaded = preloadContacts(ids);
+        } catch (RuntimeException e) {
+            log.warn("Contact cache warm-up failed: {}", e.getMessage());
+        }
+        try {
+            jwtUtil.warmUp(jwtIterations);
+        } catch (RuntimeException e) {
+            log.warn("JWT warm-up failed: {}", e.getMessage());
+        }
+        int requests = exerciseApi(ids, deadline);
+
+        log.info("Startup warm-up: {} contacts cached, {} JWT rounds, {} API requests in {} ms",
+                preloaded, jwtIterations, requests, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    // Refreshed regularly and once more on shutdown, so a rolling deploy finds a current list
+    @Scheduled(fixedDelayString = "${addressbook.warmup.hot-ids.publish-interval-ms:60000}",
+            initialDelayString = "${addressbook.warmup.hot-ids.publish-interval-ms:60000}")
+    @PreDestroy
+    public void publishHotIds() {
+        List<Integer> ids = contactNearCache.hottestIds(hotContacts);
+        if (ids.isEmpty()) {
+            return;
+        }
+        try {
+            String value = ids.stream().map(String::valueOf).collect(Collectors.joining(","));
+            stringRedisTemplate.opsForValue().set(HOT_IDS_KEY, value, HOT_IDS_TTL);
+        } catch (DataAccessException e) {
+            log.debug("Could not publish hot contact ids: {}", e.getMessage());
+        }
+    }
+
+    // Ids published by the running nodes, or the newest contacts when no node has published yet
+    private List<Integer> hotIds() {
+        String published = stringRedisTemplate.opsForValue().get(HOT_IDS_KEY);
+        if (published != null && !published.isEmpty()) {
+            List<Integer> ids = new ArrayList<>();
+            for (String id : published.split(",")) {
+                try {
+                    ids.add(Integer.parseInt(id));
+                } catch (NumberFormatException e) {
+                    // Skip the entry, the rest of the list is still useful
+                }
+                if (ids.size() == hotContacts) {
+                    break;
+                }
+            }
+            return ids;
+        }
+        return addressBookRepository.findByIdLessThanOrderByIdDesc(Integer.MAX_VALUE, PageRequest.of(0, hotContacts))
+                .stream()
+                .map(AddressBook::getId)
+                .collect(Collectors.toList());
+    }
+
+    // Multi-get fills both the AddressBook:Contact: keys and this node's near cache
+    private int preloadContacts(List<Integer> ids) {
+        int cached = 0;
+        for (int from = 0; from < ids.size(); from += LOOKUP_CHUNK) {
+            cached += addressBookService.getContactsByIds(ids.subList(from, Math.min(ids.size(), from + LOOKUP_CHUNK))).size();
+        }
+        return cached;
+    }
+
+    // Real HTTP requests over loopback, so the filter chain, MVC, Jackson and Hibernate all get exercised
+    private int exerciseApi(List<Integer> ids, long deadline) {
+        String port = environment.getProperty("local.server.port");
+        if (port == null || httpRounds <= 0) {
+            return 0;
+        }
+        String base = "http://localhost:" + port + "/addressbook";
+        String lookupIds = ids.stream().limit(20).map(String::valueOf).collect(Collectors.joining(","));
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(2)).build();
+
+        int requests = 0;
+        for (int round = 0; round < httpRounds && System.nanoTime() < deadline; round++) {
+            int id = ids.isEmpty() ? 1 : ids.get(round % ids.size());
+            List<String> paths = new ArrayList<>(List.of("/" + id, "?size=50", "/search?q=a&limit=20"));
+            if (!lookupIds.isEmpty()) {
+                paths.add("?ids=" + lookupIds);
+            }
+            for (String path : paths) {
+                try {
+                    HttpRequest request = HttpRequest.newBuilder(URI.create(base + path))
+                            .timeout(Duration.ofSeconds(5))
+                            .GET()
+                            .build();
+                    client.send(request, HttpResponse.BodyHandlers.discarding());
+                    requests++;
+                } catch (IOException e) {
+                    log.warn("API warm-up stopped after {} requests: {}", requests, e.getMessage());
+                    return requests;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return requests;
+                }
+            }
+        }
+        return requests;
+    }
+}
@@ -0,0 +1,50 @@
+package com.AddressBookAppMain.AddressBook.Services;
+
+import com.AddressBookAppMain.AddressBook.Repository.AddressBookRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Removes the tombstones soft deletes leave behind once they are older than the retention.
+ * Sync tokens older than the retention are refused, so no client can miss a purged delete.
+ */
+@Slf4j
+@Component
+public class TombstoneCompactor {
+
+    // Small DELETE chunks keep row locks short next to live traffic
+    private static final int PURGE_CHUNK = 1000;
+
+    @Autowired
+    private AddressBookRepository addressBookRepository;
+
+    @Value("${addressbook.sync.tombstone-retention:30d}")
+    private Duration tombstoneRetention;
+
+    // Every node runs it; the purge is idempotent, so overlapping runs only repeat an indexed query
+    @Scheduled(fixedDelayString = "${addressbook.sync.compaction-interval-ms:3600000}",
+            initialDelayString = "${addressbook.sync.compaction-interval-ms:3600000}")
+    public void compactTombstones() {
+        try {
+            LocalDateTime cutoff = addressBookRepository.currentTimestamp().minus(tombstoneRetention);
+            int purged = 0;
+            int chunk;
+            do {
+                chunk = addressBookRepository.purgeTombstones(cutoff, PURGE_CHUNK);
+                purged += chunk;
+            } while (chunk == PURGE_CHUNK);
+            if (purged > 0) {
+                log.info("Compacted {} contact tombstones older than {}", purged, cutoff);
+            }
+        } catch (DataAccessException e) {
+            log.warn("Tombstone compaction failed, retrying next run: {}", e.getMessage());
+        }
+    }
+}
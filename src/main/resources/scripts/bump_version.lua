@@ -0,0 +1,11 @@
+-- Bumps the contact collection version.
+-- KEYS[1] version key. Returns the new version.
+-- A lost key restarts from the Redis clock in microseconds rather than from 1, so a version
+-- handed out before the loss is never handed out again and old ETags cannot match by accident.
+if redis.call('EXISTS', KEYS[1]) == 1 then
+    return redis.call('INCR', KEYS[1])
+end
+local time = redis.call('TIME')
+local version = tonumber(time[1]) * 1000000 + tonumber(time[2])
+redis.call('SET', KEYS[1], string.format('%d', version))
+return version
@@ -0,0 +1,8 @@
+-- GET plus PTTL in one round trip.
+-- KEYS[1] cache key.
+-- Returns {-2} when the key is missing, otherwise {remaining ttl in ms (-1 = none), value}.
+local value = redis.call('GET', KEYS[1])
+if not value then
+    return {-2}
+end
+return {redis.call('PTTL', KEYS[1]), value}
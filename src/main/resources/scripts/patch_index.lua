@@ -0,0 +1,30 @@
+-- Patches the contact index and bumps the collection version in one step.
+-- KEYS[1] index hash, KEYS[2] version key. ARGV[1] is 'put' followed by id/contact pairs,
+-- or 'del' followed by ids. Returns the new version.
+-- A missing index is left alone: a lone entry would be taken for the whole contact list.
+-- Bumping here, not after the script, means a rebuild that read the table before this write
+-- (rebuild_index.lua) always sees the version move and is dropped.
+if redis.call('EXISTS', KEYS[1]) == 1 then
+    if ARGV[1] == 'put' then
+        redis.call('HDEL', KEYS[1], 'empty')
+        for i = 2, #ARGV, 2 do
+            redis.call('HSET', KEYS[1], ARGV[i], ARGV[i + 1])
+        end
+    else
+        for i = 2, #ARGV do
+            redis.call('HDEL', KEYS[1], ARGV[i])
+        end
+        -- Redis drops an empty hash; keep the book known to be empty instead
+        if redis.call('EXISTS', KEYS[1]) == 0 then
+            redis.call('HSET', KEYS[1], 'empty', '')
+        end
+    end
+end
+if redis.call('EXISTS', KEYS[2]) == 1 then
+    return redis.call('INCR', KEYS[2])
+end
+-- Same seeding as bump_version.lua
+local time = redis.call('TIME')
+local version = tonumber(time[1]) * 1000000 + tonumber(time[2])
+redis.call('SET', KEYS[2], string.format('%d', version))
+return version
@@ -0,0 +1,19 @@
+-- Replaces the contact index with a fresh copy of the table.
+-- KEYS[1] index hash, KEYS[2] version key. ARGV[1] is the version read before the table was
+-- loaded ('' when there was none), followed by id/contact pairs. Returns 1 when written.
+-- A changed version means a write landed after the load; its rows may already be stale or
+-- deleted, so nothing is written and the next read rebuilds again.
+local current = redis.call('GET', KEYS[2]) or ''
+if current ~= ARGV[1] then
+    return 0
+end
+redis.call('DEL', KEYS[1])
+if #ARGV == 1 then
+    -- An empty table is cached as the marker alone, so it is not reloaded on every read
+    redis.call('HSET', KEYS[1], 'empty', '')
+    return 1
+end
+for i = 2, #ARGV, 2 do
+    redis.call('HSET', KEYS[1], ARGV[i], ARGV[i + 1])
+end
+return 1
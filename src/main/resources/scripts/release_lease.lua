@@ -0,0 +1,7 @@
+-- Releases a loader lease.
+-- KEYS[1] lease key, ARGV[1] token written when the lease was taken.
+-- Only the holder may delete it; a lease that expired and was re-taken by another node is left alone.
+if redis.call('GET', KEYS[1]) == ARGV[1] then
+    return redis.call('DEL', KEYS[1])
+end
+return 0
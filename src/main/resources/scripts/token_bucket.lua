@@ -0,0 +1,28 @@
+-- Atomic token bucket.
+-- KEYS[1] bucket hash, ARGV[1] capacity, ARGV[2] refill rate in tokens per millisecond.
+-- Returns {allowed (1/0), retry after in ms}.
+local capacity = tonumber(ARGV[1])
+local refill_per_ms = tonumber(ARGV[2])
+
+-- Use the Redis clock so every app node agrees on "now"
+local time = redis.call('TIME')
+local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+
+local state = redis.call('HMGET', KEYS[1], 'tokens', 'ts')
+local tokens = tonumber(state[1]) or capacity
+local ts = tonumber(state[2]) or now
+tokens = math.min(capacity, tokens + math.max(0, now - ts) * refill_per_ms)
+
+local allowed = 0
+local retry_after = 0
+if tokens >= 1 then
+    tokens = tokens - 1
+    allowed = 1
+else
+    retry_after = math.ceil((1 - tokens) / refill_per_ms)
+end
+
+redis.call('HSET', KEYS[1], 'tokens', tostring(tokens), 'ts', tostring(now))
+-- Once the bucket would be full again the key carries no information
+redis.call('PEXPIRE', KEYS[1], math.ceil(capacity / refill_per_ms))
+return {allowed, retry_after}
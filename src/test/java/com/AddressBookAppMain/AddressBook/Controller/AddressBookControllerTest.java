@@ -0,0 +1,168 @@
+package com.AddressBookAppMain.AddressBook.Controller;
+
+import com.AddressBookAppMain.AddressBook.Controllers.AddressBookController;
+import com.AddressBookAppMain.AddressBook.DTO.ContactPageDTO;
+import com.AddressBookAppMain.AddressBook.Entity.AddressBook;
+import com.AddressBookAppMain.AddressBook.Exception.GlobalExceptionHandler;
+import com.AddressBookAppMain.AddressBook.Interfaces.IAddressBookService;
+import com.AddressBookAppMain.AddressBook.Services.ContactExportService;
+import com.AddressBookAppMain.AddressBook.Services.ContactVersions;
+import jakarta.validation.Validator;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@RunWith(MockitoJUnitRunner.Silent.class)
+public class AddressBookControllerTest {
+
+    @Mock
+    private IAddressBookService addressBookService;
+
+    @Mock
+    private ContactExportService contactExportService;
+
+    @Mock
+    private ContactVersions contactVersions;
+
+    @Mock
+    private Validator validator;
+
+    @InjectMocks
+    private AddressBookController addressBookController;
+
+    private MockMvc mockMvc;
+
+    @Before
+    public void setUp() {
+        ReflectionTestUtils.setField(addressBookController, "exportTimeout", Duration.ofMinutes(30));
+        mockMvc = MockMvcBuilders.standaloneSetup(addressBookController)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+    }
+
+    private static AddressBook contact(int id, String name) {
+        AddressBook contact = new AddressBook();
+        contact.setId(id);
+        contact.setName(name);
+        contact.setPhone("9876543210");
+        contact.setAddress("Pune");
+        return contact;
+    }
+
+    @Test
+    public void testGetAllContacts_NotModifiedWhileVersionUnchanged() throws Exception {
+        when(contactVersions.collectionETag()).thenReturn("\"book-42\"");
+
+        mockMvc.perform(get("/addressbook").header("If-None-Match", "\"book-42\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"book-42\""));
+
+        verify(addressBookService, never()).getAllContacts();
+    }
+
+    @Test
+    public void testGetAllContacts_ServedWithoutETagWhenVersionUnavailable() throws Exception {
+        when(contactVersions.collectionETag()).thenReturn(null);
+        when(addressBookService.getAllContacts()).thenReturn(List.of(contact(1, "Alice")));
+
+        mockMvc.perform(get("/addressbook").header("If-None-Match", "\"book-42\""))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("ETag"))
+                .andExpect(jsonPath("$[0].name").value("Alice"));
+    }
+
+    @Test
+    public void testGetAllContacts_PagesInRequestedDirection() throws Exception {
+        when(addressBookService.getContactsPage(null, 10, null, null, Sort.Direction.DESC))
+                .thenReturn(new ContactPageDTO(List.of(contact(2, "Bob")), null));
+
+        mockMvc.perform(get("/addressbook").param("size", "10").param("sort", "DESC"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.contacts[0].name").value("Bob"));
+    }
+
+    @Test
+    public void testGetAllContacts_RejectsUnknownSort() throws Exception {
+        mockMvc.perform(get("/addressbook").param("size", "10").param("sort", "newest"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Unknown sort 'newest', use asc or desc"));
+
+        verifyNoInteractions(addressBookService);
+    }
+
+    @Test
+    public void testGetContactById_NotModifiedForMatchingETag() throws Exception {
+        AddressBook alice = contact(7, "Alice");
+        when(addressBookService.getContactById(7)).thenReturn(Optional.of(alice));
+        String etag = ContactVersions.etag(alice);
+
+        mockMvc.perform(get("/addressbook/7").header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        alice.setAddress("Mumbai");
+        mockMvc.perform(get("/addressbook/7").header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", ContactVersions.etag(alice)));
+    }
+
+    @Test
+    public void testAddContacts_RejectsNullEntryWithItsIndex() throws Exception {
+        mockMvc.perform(post("/addressbook/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"name\":\"Alice\",\"phone\":\"9876543210\",\"address\":\"Pune\"}, null]"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$[0]").value("[1] contact must not be null"));
+
+        verifyNoInteractions(addressBookService);
+    }
+
+    @Test
+    public void testExport_StreamsCsvWithItsOwnAsyncTimeout() throws Exception {
+        when(contactExportService.exportContacts(any(OutputStream.class), eq(ContactExportService.ExportFormat.CSV)))
+                .thenAnswer(invocation -> {
+                    invocation.<OutputStream>getArgument(0).write("id,name,phone,address\n".getBytes(StandardCharsets.UTF_8));
+                    return 0L;
+                });
+
+        MvcResult result = mockMvc.perform(get("/addressbook/export").param("format", "CSV"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        assertEquals(Duration.ofMinutes(30).toMillis(), result.getRequest().getAsyncContext().getTimeout());
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"contacts.csv\""))
+                .andExpect(content().string("id,name,phone,address\n"));
+    }
+
+    @Test
+    public void testExport_RejectsUnknownFormat() throws Exception {
+        mockMvc.perform(get("/addressbook/export").param("format", "xml"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Unknown export format 'xml', use ndjson or csv"));
+
+        verifyNoInteractions(contactExportService);
+    }
+}
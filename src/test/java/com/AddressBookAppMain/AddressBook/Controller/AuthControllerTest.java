@@ -5,8 +5,9 @@ import com.AddressBookAppMain.AddressBook.DTO.ForgotPasswordDTO;
 import com.AddressBookAppMain.AddressBook.DTO.LoginRequestDTO;
 import com.AddressBookAppMain.AddressBook.DTO.LoginResponseDTO;
 import com.AddressBookAppMain.AddressBook.DTO.UserDTO;
+import com.AddressBookAppMain.AddressBook.Security.LoginRateLimiter;
 import com.AddressBookAppMain.AddressBook.Services.AuthService;
-import com.AddressBookAppMain.AddressBook.Services.EmailService;
+import com.AddressBookAppMain.AddressBook.Services.EmailOutbox;
 import com.AddressBookAppMain.AddressBook.Services.RabbitMQProducer;
 import jakarta.mail.MessagingException;
 import org.junit.Before;
@@ -31,11 +32,14 @@ public class AuthControllerTest {
     private AuthService authService;
 
     @Mock
-    private EmailService emailService;
+    private EmailOutbox emailOutbox;
 
     @Mock
     private RabbitMQProducer rabbitMQProducer;
 
+    @Mock
+    private LoginRateLimiter loginRateLimiter;
+
     @InjectMocks
     private AuthController authController;
 
@@ -50,7 +54,7 @@ public class AuthControllerTest {
 //        UserDTO userDTO = new UserDTO("testUser", "test@example.com", "password123");
 //
 //        when(authService.registerUser(userDTO)).thenReturn("User registered successfully!");
-//        doNothing().when(emailService).sendRegistrationEmail(userDTO.getEmail());
+//        doNothing().when(emailOutbox).enqueueRegistrationEmail(userDTO.getEmail());
 //
 //        ResponseEntity<String> response = authController.registerUser(userDTO);
 //
@@ -0,0 +1,91 @@
+package com.AddressBookAppMain.AddressBook.Service;
+
+import com.AddressBookAppMain.AddressBook.Entity.AddressBook;
+import com.AddressBookAppMain.AddressBook.Security.AddressBookRedisSerializer;
+import org.junit.Test;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.util.HexFormat;
+
+import static org.junit.Assert.*;
+
+public class AddressBookRedisSerializerTest {
+
+    // Shared wire format: reactive/.../AddressBookRedisSerializerTest pins the same bytes for the
+    // reactive entity, so an entry written by either stack is read back by the other
+    static final String ALICE_V1 = "01c0c4070d416c69636520536861726d610b39383736353433323130113132204d4720526f61642c2050756e65";
+    static final String ZOE_V1 = "01070d5a6fc3ab204dc3bc6c6c65720001";
+
+    private final AddressBookRedisSerializer serializer = new AddressBookRedisSerializer();
+
+    private static AddressBook contact(int id, String name, String phone, String address) {
+        AddressBook contact = new AddressBook();
+        contact.setId(id);
+        contact.setName(name);
+        contact.setPhone(phone);
+        contact.setAddress(address);
+        return contact;
+    }
+
+    @Test
+    public void testRoundTrip_PreservesAllFields() {
+        AddressBook original = contact(123456, "Alice Sharma", "9876543210", "12 MG Road, Pune");
+
+        AddressBook decoded = serializer.deserialize(serializer.serialize(original));
+
+        assertEquals(original, decoded);
+    }
+
+    @Test
+    public void testRoundTrip_NullsAndNonAsciiText() {
+        AddressBook original = contact(7, "Zoë Müller 中文 😀", null, "");
+
+        AddressBook decoded = serializer.deserialize(serializer.serialize(original));
+
+        assertEquals(original, decoded);
+        assertNull(decoded.getPhone());
+        assertEquals("", decoded.getAddress());
+    }
+
+    @Test
+    public void testWireFormat_SameBytesAsReactiveSerializer() {
+        AddressBook alice = contact(123456, "Alice Sharma", "9876543210", "12 MG Road, Pune");
+        AddressBook zoe = contact(7, "Zoë Müller", null, "");
+
+        assertEquals(ALICE_V1, HexFormat.of().formatHex(serializer.serialize(alice)));
+        assertEquals(ZOE_V1, HexFormat.of().formatHex(serializer.serialize(zoe)));
+        assertEquals(alice, serializer.deserialize(HexFormat.of().parseHex(ALICE_V1)));
+        assertEquals(zoe, serializer.deserialize(HexFormat.of().parseHex(ZOE_V1)));
+    }
+
+    @Test
+    public void testSerialize_MuchSmallerThanJson() {
+        AddressBook original = contact(1, "Contact Number 1", "9800000001", "1 MG Road, Pune, Maharashtra 411001");
+
+        int binary = serializer.serialize(original).length;
+        int json = new GenericJackson2JsonRedisSerializer().serialize(original).length;
+
+        assertTrue("binary " + binary + " vs json " + json, binary * 2 < json);
+    }
+
+    @Test
+    public void testDeserialize_ReadsLegacyJsonEntries() {
+        AddressBook original = contact(5, "Eve", "9123456789", "Mumbai");
+        byte[] legacy = new GenericJackson2JsonRedisSerializer().serialize(original);
+
+        assertEquals(original, serializer.deserialize(legacy));
+    }
+
+    @Test
+    public void testDeserialize_UnknownVersionIsAMiss() {
+        assertNull(serializer.deserialize(new byte[]{99, 1, 0, 0, 0}));
+        assertNull(serializer.deserialize(new byte[0]));
+    }
+
+    @Test(expected = SerializationException.class)
+    public void testDeserialize_RejectsTruncatedEntry() {
+        byte[] encoded = serializer.serialize(contact(1, "Alice", "9876543210", "Pune"));
+        serializer.deserialize(java.util.Arrays.copyOf(encoded, encoded.length - 2));
+    }
+}
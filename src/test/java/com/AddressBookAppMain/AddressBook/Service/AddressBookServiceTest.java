@@ -0,0 +1,525 @@
+package com.AddressBookAppMain.AddressBook.Service;
+
+import com.AddressBookAppMain.AddressBook.DTO.AddressBookDTO;
+import com.AddressBookAppMain.AddressBook.DTO.ContactChangeDTO;
+import com.AddressBookAppMain.AddressBook.DTO.ContactChangesDTO;
+import com.AddressBookAppMain.AddressBook.DTO.ContactPageDTO;
+import com.AddressBookAppMain.AddressBook.Entity.AddressBook;
+import com.AddressBookAppMain.AddressBook.Exception.AddressBookException;
+import com.AddressBookAppMain.AddressBook.Exception.ServiceOverloadedException;
+import com.AddressBookAppMain.AddressBook.Exception.SyncTokenExpiredException;
+import com.AddressBookAppMain.AddressBook.Repository.AddressBookRepository;
+import com.AddressBookAppMain.AddressBook.Security.AddressBookRedisSerializer;
+import com.AddressBookAppMain.AddressBook.Services.AddressBookService;
+import com.AddressBookAppMain.AddressBook.Services.CacheStampedeGuard;
+import com.AddressBookAppMain.AddressBook.Services.ContactCacheMetrics;
+import com.AddressBookAppMain.AddressBook.Services.ContactNearCache;
+import com.AddressBookAppMain.AddressBook.Services.ContactPhoneIndex;
+import com.AddressBookAppMain.AddressBook.Services.ContactSearchIndex;
+import com.AddressBookAppMain.AddressBook.Services.ContactVersions;
+import com.AddressBookAppMain.AddressBook.Services.RabbitMQProducer;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.Silent.class)
+public class AddressBookServiceTest {
+
+    private static final String INDEX_KEY = "AddressBook:Index";
+    private static final String VERSION_KEY = "AddressBook:Version";
+
+    private final AddressBookRedisSerializer contactSerializer = new AddressBookRedisSerializer();
+
+    @Mock
+    private AddressBookRepository addressBookRepository;
+
+    @Mock
+    private RedisTemplate<String, AddressBook> redisTemplate;
+
+    @Mock
+    private ValueOperations<String, AddressBook> valueOperations;
+
+    @Mock
+    private HashOperations<String, Object, Object> hashOperations;
+
+    @Mock
+    private ContactNearCache contactNearCache;
+
+    @Mock
+    private ContactSearchIndex contactSearchIndex;
+
+    @Mock
+    private ContactPhoneIndex contactPhoneIndex;
+
+    @Mock
+    private ContactCacheMetrics cacheMetrics;
+
+    @Mock
+    private CacheStampedeGuard stampedeGuard;
+
+    @Mock
+    private RabbitMQProducer rabbitMQProducer;
+
+    @Mock
+    private ContactVersions contactVersions;
+
+    @InjectMocks
+    private AddressBookService addressBookService;
+
+    @Before
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        doReturn(hashOperations).when(redisTemplate).opsForHash();
+        doReturn(contactSerializer).when(redisTemplate).getHashValueSerializer();
+        // No concurrency in these tests; every miss runs its loader
+        when(stampedeGuard.load(anyString(), any(), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(2).get());
+    }
+
+    private static AddressBook contact(int id, String name) {
+        AddressBook contact = new AddressBook();
+        contact.setId(id);
+        contact.setName(name);
+        contact.setPhone("9876543210");
+        contact.setAddress("Pune");
+        return contact;
+    }
+
+    private static AddressBookDTO dto(String name) {
+        AddressBookDTO dto = new AddressBookDTO();
+        dto.setName(name);
+        dto.setPhone("9876543210");
+        dto.setAddress("Pune");
+        return dto;
+    }
+
+    // Args of each run of patch_index.lua or rebuild_index.lua, in order: ids and ops as text, contacts decoded
+    private List<List<Object>> indexScriptRuns() {
+        return mockingDetails(redisTemplate).getInvocations().stream()
+                .filter(invocation -> invocation.getMethod().getName().equals("execute")
+                        && invocation.getRawArguments().length == 5
+                        && List.of(INDEX_KEY, VERSION_KEY).equals(invocation.getRawArguments()[3]))
+                .map(invocation -> Arrays.stream((Object[]) invocation.getRawArguments()[4])
+                        .map(arg -> {
+                            byte[] bytes = (byte[]) arg;
+                            AddressBook contact = contactSerializer.deserialize(bytes);
+                            return contact != null ? contact : (Object) new String(bytes, StandardCharsets.UTF_8);
+                        })
+                        .collect(Collectors.toList()))
+                .collect(Collectors.toList());
+    }
+
+    @Test
+    public void testGetAllContacts_ServedFromIndexWithoutRemovingIt() {
+        Map<Object, Object> index = new HashMap<>();
+        index.put("2", contact(2, "Bob"));
+        index.put("1", contact(1, "Alice"));
+        when(hashOperations.entries(INDEX_KEY)).thenReturn(index);
+
+        List<AddressBook> result = addressBookService.getAllContacts();
+
+        assertEquals(2, result.size());
+        assertEquals(1, result.get(0).getId());
+        verify(addressBookRepository, never()).findAll();
+        verify(redisTemplate, never()).delete(INDEX_KEY);
+    }
+
+    @Test
+    public void testGetAllContacts_RebuildsIndexOnMiss() {
+        when(hashOperations.entries(INDEX_KEY)).thenReturn(new HashMap<>());
+        when(contactVersions.current()).thenReturn("41");
+        AddressBook alice = contact(1, "Alice");
+        AddressBook bob = contact(2, "Bob");
+        when(addressBookRepository.findAll()).thenReturn(Arrays.asList(alice, bob));
+
+        List<AddressBook> result = addressBookService.getAllContacts();
+
+        assertEquals(2, result.size());
+        // One script swaps in the whole copy, guarded by the version read before findAll()
+        assertEquals(List.of(List.of("41", "1", alice, "2", bob)), indexScriptRuns());
+        verify(hashOperations, never()).putAll(anyString(), anyMap());
+    }
+
+    @Test
+    public void testGetAllContacts_EmptyBookIsCachedAsMarker() {
+        when(hashOperations.entries(INDEX_KEY)).thenReturn(new HashMap<>());
+
+        assertTrue(addressBookService.getAllContacts().isEmpty());
+        // No version yet, and no rows: the script stores the marker alone
+        assertEquals(List.of(List.of("")), indexScriptRuns());
+
+        // The marker value decodes to null; it is not taken for an unreadable entry
+        Map<Object, Object> marker = new HashMap<>();
+        marker.put("empty", null);
+        when(hashOperations.entries(INDEX_KEY)).thenReturn(marker);
+
+        assertTrue(addressBookService.getAllContacts().isEmpty());
+        verify(addressBookRepository, times(1)).findAll();
+        verify(cacheMetrics, times(1)).indexHit();
+    }
+
+    @Test
+    public void testGetAllContacts_UnreadableEntryRebuildsIndex() {
+        Map<Object, Object> index = new HashMap<>();
+        index.put("1", contact(1, "Alice"));
+        index.put("2", null);
+        when(hashOperations.entries(INDEX_KEY)).thenReturn(index);
+        when(addressBookRepository.findAll()).thenReturn(Arrays.asList(contact(1, "Alice"), contact(2, "Bob")));
+
+        assertEquals(2, addressBookService.getAllContacts().size());
+        verify(cacheMetrics, times(1)).indexMiss();
+    }
+
+    @Test
+    public void testUpdateContact_PatchesSingleIndexEntry() {
+        AddressBook existing = contact(7, "Alice");
+        when(addressBookRepository.findById(7)).thenReturn(Optional.of(existing));
+        when(addressBookRepository.save(any(AddressBook.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        Optional<AddressBook> result = addressBookService.updateContact(7, dto("Alicia"));
+
+        assertTrue(result.isPresent());
+        assertEquals(List.of(List.of("put", "7", existing)), indexScriptRuns());
+        verify(redisTemplate, never()).delete(INDEX_KEY);
+        verify(contactNearCache, times(1)).invalidate(7);
+        // The script bumps the version in the same step
+        verify(contactVersions, never()).bump();
+    }
+
+    @Test
+    public void testAddContact_ChecksIndexOnlyInsideScript() {
+        when(addressBookRepository.save(any(AddressBook.class))).thenAnswer(invocation -> {
+            AddressBook saved = invocation.getArgument(0);
+            saved.setId(3);
+            return saved;
+        });
+
+        AddressBook saved = addressBookService.addContact(dto("Carol"));
+
+        // No hasKey-then-HSET from here: a rebuild or eviction in between could leave a one-entry index
+        assertEquals(List.of(List.of("put", "3", saved)), indexScriptRuns());
+        verify(redisTemplate, never()).hasKey(INDEX_KEY);
+        verify(hashOperations, never()).put(any(), any(), any());
+    }
+
+    @Test
+    public void testDeleteContact_RemovesIndexEntry() {
+        when(addressBookRepository.findById(5)).thenReturn(Optional.of(contact(5, "Eve")));
+
+        boolean result = addressBookService.deleteContact(5);
+
+        assertTrue(result);
+        assertEquals(List.of(List.of("del", "5")), indexScriptRuns());
+        verify(hashOperations, never()).delete(any(), any());
+        verify(contactPhoneIndex, times(1)).remove("9876543210", 5);
+    }
+
+    @Test
+    public void testContactETag_ChangesOnlyWithTheContact() {
+        String etag = ContactVersions.etag(contact(7, "Alice"));
+
+        assertEquals(etag, ContactVersions.etag(contact(7, "Alice")));
+        assertNotEquals(etag, ContactVersions.etag(contact(7, "Alicia")));
+        assertNotEquals(etag, ContactVersions.etag(contact(8, "Alice")));
+        AddressBook moved = contact(7, "Alice");
+        moved.setAddress("Mumbai");
+        assertNotEquals(etag, ContactVersions.etag(moved));
+    }
+
+    @Test
+    public void testGetContactByPhone_StaleIndexEntryFallsBackToMySQL() {
+        AddressBook moved = contact(9, "Alice");
+        moved.setPhone("9123456780");
+        AddressBook owner = contact(4, "Dave");
+        when(contactPhoneIndex.isReady()).thenReturn(true);
+        when(contactPhoneIndex.lookup("9876543210")).thenReturn(OptionalInt.of(9));
+        when(contactNearCache.get(9)).thenReturn(moved);
+        when(addressBookRepository.findFirstByPhoneOrderByIdDesc("9876543210")).thenReturn(Optional.of(owner));
+
+        Optional<AddressBook> result = addressBookService.getContactByPhone("9876543210");
+
+        assertSame(owner, result.get());
+        verify(contactPhoneIndex, times(1)).remove("9876543210", 9);
+    }
+
+    @Test
+    public void testCollectionETag_NullWhenRedisIsDown() {
+        StringRedisTemplate stringRedisTemplate = mock(StringRedisTemplate.class);
+        when(stringRedisTemplate.opsForValue()).thenThrow(new RedisConnectionFailureException("Connection refused"));
+
+        assertNull(new ContactVersions(stringRedisTemplate).collectionETag());
+    }
+
+    @Test
+    public void testGetContactsPage_ReturnsCursorThatResumesAfterLastId() {
+        when(addressBookRepository.findByIdGreaterThanOrderByIdAsc(eq(0), any(Pageable.class)))
+                .thenReturn(Arrays.asList(contact(1, "Alice"), contact(2, "Bob"), contact(3, "Carol")));
+        when(addressBookRepository.findByIdGreaterThanOrderByIdAsc(eq(2), any(Pageable.class)))
+                .thenReturn(Arrays.asList(contact(3, "Carol")));
+
+        ContactPageDTO first = addressBookService.getContactsPage(null, 2, null, null, Sort.Direction.ASC);
+        assertEquals(2, first.getContacts().size());
+        assertNotNull(first.getNextCursor());
+
+        ContactPageDTO second = addressBookService.getContactsPage(first.getNextCursor(), 2, null, null, Sort.Direction.ASC);
+        assertEquals(1, second.getContacts().size());
+        assertNull(second.getNextCursor());
+        verify(addressBookRepository, never()).findAll();
+    }
+
+    @Test(expected = AddressBookException.class)
+    public void testGetContactsPage_RejectsTamperedCursor() {
+        addressBookService.getContactsPage("not-a-cursor", 10, null, null, Sort.Direction.ASC);
+    }
+
+    @Test
+    public void testAddContacts_BatchInsertsAndCachesInOnePipeline() {
+        when(addressBookRepository.batchInsert(anyList())).thenAnswer(invocation -> {
+            List<AddressBook> contacts = invocation.getArgument(0);
+            for (int i = 0; i < contacts.size(); i++) {
+                contacts.get(i).setId(100 + i);
+            }
+            return contacts;
+        });
+
+        List<AddressBook> result = addressBookService.addContacts(Arrays.asList(dto("Alice"), dto("Bob")));
+
+        assertEquals(2, result.size());
+        assertEquals(101, result.get(1).getId());
+        verify(addressBookRepository, never()).save(any(AddressBook.class));
+        verify(redisTemplate, times(1)).executePipelined(any(SessionCallback.class));
+        // Both index entries and one version bump in a single script run
+        assertEquals(List.of(List.of("put", "100", result.get(0), "101", result.get(1))), indexScriptRuns());
+    }
+
+    @Test
+    public void testGetContactById_NearCacheHitSkipsRedis() {
+        AddressBook hot = contact(9, "Alice");
+        when(contactNearCache.get(9)).thenReturn(hot);
+
+        Optional<AddressBook> result = addressBookService.getContactById(9);
+
+        assertSame(hot, result.get());
+        verify(valueOperations, never()).get(anyString());
+        verify(addressBookRepository, never()).findById(anyInt());
+        verify(cacheMetrics, times(1)).nearHit();
+    }
+
+    @Test
+    public void testGetContactsByIds_OneMultiGetOneQueryOnePipeline() {
+        AddressBook near = contact(1, "Alice");
+        AddressBook cached = contact(2, "Bob");
+        when(contactNearCache.get(1)).thenReturn(near);
+        // Keys go out in request order, minus the near-cache hit
+        when(valueOperations.multiGet(Arrays.asList("AddressBook:Contact:3", "AddressBook:Contact:2", "AddressBook:Contact:4")))
+                .thenReturn(Arrays.asList(null, cached, null));
+        when(addressBookRepository.findAllById(Arrays.asList(3, 4))).thenReturn(Arrays.asList(contact(3, "Carol")));
+
+        List<AddressBook> result = addressBookService.getContactsByIds(Arrays.asList(3, 1, 2, 4, 1));
+
+        assertEquals(3, result.size());
+        assertEquals(3, result.get(0).getId());
+        assertSame(near, result.get(1));
+        assertSame(cached, result.get(2));
+        verify(valueOperations, never()).get(anyString());
+        verify(addressBookRepository, never()).findById(anyInt());
+        verify(redisTemplate, times(1)).executePipelined(any(SessionCallback.class));
+        verify(cacheMetrics, times(1)).lookupResolved(1, 1, 2);
+    }
+
+    @Test
+    public void testGetContactsByIds_ShortMultiGetReplyFallsBackToMySQL() {
+        // Pipelined or transactional connections answer MGET with an empty list
+        when(valueOperations.multiGet(anyList())).thenReturn(new ArrayList<>());
+        when(addressBookRepository.findAllById(Arrays.asList(5, 6))).thenReturn(Arrays.asList(contact(5, "Eve"), contact(6, "Frank")));
+
+        List<AddressBook> result = addressBookService.getContactsByIds(Arrays.asList(5, 6));
+
+        assertEquals(2, result.size());
+        verify(cacheMetrics, times(1)).lookupResolved(0, 0, 2);
+    }
+
+    @Test(expected = AddressBookException.class)
+    public void testGetContactsByIds_RejectsEmptyLookup() {
+        addressBookService.getContactsByIds(new ArrayList<>());
+    }
+
+    @Test
+    public void testGetContactById_MissLoadsThroughStampedeGuard() {
+        when(addressBookRepository.findById(4)).thenReturn(Optional.of(contact(4, "Dan")));
+
+        Optional<AddressBook> result = addressBookService.getContactById(4);
+
+        assertEquals("Dan", result.get().getName());
+        verify(stampedeGuard, times(1)).load(eq("AddressBook:Contact:4"), any(), any());
+        verify(valueOperations, times(1)).set(eq("AddressBook:Contact:4"), any(AddressBook.class), any(Duration.class));
+        verify(contactNearCache, times(1)).put(result.get());
+    }
+
+    @Test
+    public void testUpdateContact_WriteBehindQueuesChangeInsteadOfSaving() {
+        ReflectionTestUtils.setField(addressBookService, "writeBehind", true);
+        when(contactNearCache.get(7)).thenReturn(contact(7, "Alice"));
+
+        Optional<AddressBook> result = addressBookService.updateContact(7, dto("Alicia"));
+
+        assertEquals("Alicia", result.get().getName());
+        verify(rabbitMQProducer, times(1)).publishContactChange(new ContactChangeDTO(7, "Alicia", "9876543210", "Pune"));
+        verify(addressBookRepository, never()).findById(anyInt());
+        verify(addressBookRepository, never()).save(any(AddressBook.class));
+        verify(valueOperations, times(1)).set(eq("AddressBook:Contact:7"), any(AddressBook.class), any(Duration.class));
+    }
+
+    private static AddressBook change(int id, String name, LocalDateTime updatedAt, boolean deleted) {
+        AddressBook row = contact(id, name);
+        row.setUpdatedAt(updatedAt);
+        row.setDeleted(deleted);
+        return row;
+    }
+
+    @Test
+    public void testGetChangesSince_FollowsTheFeedAndSplitsOutDeletes() {
+        ReflectionTestUtils.setField(addressBookService, "syncSettleTime", Duration.ofSeconds(5));
+        ReflectionTestUtils.setField(addressBookService, "tombstoneRetention", Duration.ofDays(30));
+        LocalDateTime now = LocalDateTime.of(2025, 3, 1, 12, 0);
+        LocalDateTime settled = now.minusSeconds(5);
+        when(addressBookRepository.currentTimestamp()).thenReturn(now);
+        when(addressBookRepository.findChangedAfter(any(LocalDateTime.class), eq(0), eq(settled), eq(false), eq(3)))
+                .thenReturn(Arrays.asList(change(1, "Alice", now.minusHours(2), false), change(2, "Bob", now.minusHours(1), false),
+                        change(3, "Carol", now.minusMinutes(1), false)));
+
+        // A first sync skips tombstones and stops at a full page
+        ContactChangesDTO first = addressBookService.getChangesSince(null, 2);
+        assertEquals(2, first.getUpserted().size());
+        assertTrue(first.isHasMore());
+
+        when(addressBookRepository.findChangedAfter(now.minusHours(1), 2, settled, true, 3))
+                .thenReturn(Arrays.asList(change(3, "Carol", now.minusMinutes(1), false), change(1, "Alice", now.minusSeconds(30), true)));
+
+        // The token resumes after Bob, reports Alice's delete and then moves up to the settled point
+        ContactChangesDTO second = addressBookService.getChangesSince(first.getNextToken(), 2);
+        assertEquals(1, second.getUpserted().size());
+        assertEquals("Carol", second.getUpserted().get(0).getName());
+        assertEquals(List.of(1), second.getDeleted());
+        assertFalse(second.isHasMore());
+
+        when(addressBookRepository.findChangedAfter(settled, 0, settled, true, 3)).thenReturn(List.of());
+        ContactChangesDTO third = addressBookService.getChangesSince(second.getNextToken(), 2);
+        assertTrue(third.getUpserted().isEmpty());
+        assertEquals(second.getNextToken(), third.getNextToken());
+    }
+
+    @Test(expected = SyncTokenExpiredException.class)
+    public void testGetChangesSince_RejectsTokenOlderThanTombstoneRetention() {
+        ReflectionTestUtils.setField(addressBookService, "syncSettleTime", Duration.ofSeconds(5));
+        ReflectionTestUtils.setField(addressBookService, "tombstoneRetention", Duration.ofDays(30));
+        LocalDateTime now = LocalDateTime.of(2025, 3, 1, 12, 0);
+        when(addressBookRepository.currentTimestamp()).thenReturn(now.minusDays(31));
+        when(addressBookRepository.findChangedAfter(any(LocalDateTime.class), anyInt(), any(LocalDateTime.class), anyBoolean(), anyInt()))
+                .thenReturn(List.of());
+        String staleToken = addressBookService.getChangesSince(null, 10).getNextToken();
+
+        when(addressBookRepository.currentTimestamp()).thenReturn(now);
+        addressBookService.getChangesSince(staleToken, 10);
+    }
+
+    @Test
+    public void testGetChangesSince_FirstSyncPagesThroughRowsOlderThanRetention() {
+        ReflectionTestUtils.setField(addressBookService, "syncSettleTime", Duration.ofSeconds(5));
+        ReflectionTestUtils.setField(addressBookService, "tombstoneRetention", Duration.ofDays(30));
+        LocalDateTime now = LocalDateTime.of(2025, 3, 1, 12, 0);
+        LocalDateTime settled = now.minusSeconds(5);
+        LocalDateTime lastYear = now.minusDays(365);
+        when(addressBookRepository.currentTimestamp()).thenReturn(now);
+        when(addressBookRepository.findChangedAfter(any(LocalDateTime.class), eq(0), eq(settled), eq(false), eq(2)))
+                .thenReturn(Arrays.asList(change(1, "Alice", lastYear, false), change(2, "Bob", lastYear.plusDays(1), false)));
+        ContactChangesDTO first = addressBookService.getChangesSince(null, 1);
+        assertTrue(first.isHasMore());
+
+        // Page 2 resumes from a year-old row, but the client started syncing just now
+        when(addressBookRepository.currentTimestamp()).thenReturn(now.plusMinutes(1));
+        when(addressBookRepository.findChangedAfter(lastYear, 1, settled.plusMinutes(1), true, 2))
+                .thenReturn(Arrays.asList(change(2, "Bob", lastYear.plusDays(1), false)));
+        ContactChangesDTO second = addressBookService.getChangesSince(first.getNextToken(), 1);
+        assertEquals("Bob", second.getUpserted().get(0).getName());
+        assertFalse(second.isHasMore());
+
+        // Caught up; the next poll continues from the settled point
+        when(addressBookRepository.findChangedAfter(settled.plusMinutes(1), 0, settled.plusMinutes(1), true, 2)).thenReturn(List.of());
+        assertTrue(addressBookService.getChangesSince(second.getNextToken(), 1).getUpserted().isEmpty());
+    }
+
+    @Test
+    public void testSearchContacts_ReturnsHitsInRankedOrder() {
+        when(contactSearchIndex.isReady()).thenReturn(true);
+        when(contactSearchIndex.search("baker", 10)).thenReturn(List.of(2, 1));
+        when(addressBookRepository.findAllById(List.of(2, 1))).thenReturn(List.of(contact(1, "Alice"), contact(2, "Bob")));
+
+        List<AddressBook> result = addressBookService.searchContacts("baker", 10);
+
+        assertEquals(List.of("Bob", "Alice"), result.stream().map(AddressBook::getName).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void testSearchContacts_RefusedUntilIndexIsBuilt() {
+        try {
+            addressBookService.searchContacts("baker", 10);
+            fail("Expected the search to be refused");
+        } catch (ServiceOverloadedException e) {
+            assertEquals("Search index is still being built, please retry shortly.", e.getMessage());
+        }
+        // A partial index would have answered with missing contacts
+        verify(contactSearchIndex, never()).search(anyString(), anyInt());
+    }
+
+    @Test(expected = SyncTokenExpiredException.class)
+    public void testGetChangesSince_FirstSyncLeftPagingBeyondRetentionExpires() {
+        ReflectionTestUtils.setField(addressBookService, "syncSettleTime", Duration.ofSeconds(5));
+        ReflectionTestUtils.setField(addressBookService, "tombstoneRetention", Duration.ofDays(30));
+        LocalDateTime now = LocalDateTime.of(2025, 3, 1, 12, 0);
+        when(addressBookRepository.currentTimestamp()).thenReturn(now);
+        when(addressBookRepository.findChangedAfter(any(LocalDateTime.class), anyInt(), any(LocalDateTime.class), anyBoolean(), anyInt()))
+                .thenReturn(Arrays.asList(change(1, "Alice", now.minusDays(365), false), change(2, "Bob", now.minusDays(364), false)));
+        String pageToken = addressBookService.getChangesSince(null, 1).getNextToken();
+
+        // Rows it was sent may have been deleted and compacted since
+        when(addressBookRepository.currentTimestamp()).thenReturn(now.plusDays(31));
+        addressBookService.getChangesSince(pageToken, 1);
+    }
+
+    @Test(expected = AddressBookException.class)
+    public void testGetChangesSince_RejectsPageCursorAsToken() {
+        addressBookService.getChangesSince("djE6MTA", 10);
+    }
+}
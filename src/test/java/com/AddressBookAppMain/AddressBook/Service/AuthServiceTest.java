@@ -6,8 +6,9 @@ import com.AddressBookAppMain.AddressBook.DTO.UserDTO;
 import com.AddressBookAppMain.AddressBook.Entity.User;
 import com.AddressBookAppMain.AddressBook.Repository.UserRepository;
 import com.AddressBookAppMain.AddressBook.Security.JwtUtil;
+import com.AddressBookAppMain.AddressBook.Security.PasswordHasher;
 import com.AddressBookAppMain.AddressBook.Services.AuthService;
-import com.AddressBookAppMain.AddressBook.Services.EmailService;
+import com.AddressBookAppMain.AddressBook.Services.EmailOutbox;
 import jakarta.mail.MessagingException;
 import org.junit.Before;
 import org.junit.Test;
@@ -16,15 +17,13 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.mockito.junit.MockitoJUnitRunner;
-import org.springframework.data.redis.core.RedisTemplate;
-import org.springframework.data.redis.core.ValueOperations;
-import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.util.Optional;
 
 import static org.mockito.Mockito.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.junit.Assert.*;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -34,25 +33,19 @@ public class AuthServiceTest {
     private UserRepository userRepository;
 
     @Mock
-    private PasswordEncoder passwordEncoder;
+    private PasswordHasher passwordHasher;
 
     @Mock
     private JwtUtil jwtUtils;
 
     @Mock
-    private EmailService emailService;
-
-    @Mock
-    private RedisTemplate<String, String> redisTemplate;
+    private EmailOutbox emailOutbox;
 
     @InjectMocks
     private AuthService authService;
 
     private User testUser;
 
-    @Mock
-    private ValueOperations<String, String> valueOperations; // ✅ Mock ValueOperations
-
     @Before
     public void setUp() {
         MockitoAnnotations.openMocks(this);
@@ -60,9 +53,6 @@ public class AuthServiceTest {
         testUser.setUsername("testUser");
         testUser.setEmail("test@example.com");
         testUser.setPassword("encodedPassword");
-
-        // ✅ Ensure redisTemplate.opsForValue() returns a mock ValueOperations object
-        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
     }
 
     @Test
@@ -70,7 +60,7 @@ public class AuthServiceTest {
         UserDTO userDTO = new UserDTO("testUser", "test@example.com", "password123");
 
         when(userRepository.existsByEmail(userDTO.getEmail())).thenReturn(false);
-        when(passwordEncoder.encode(userDTO.getPassword())).thenReturn("encodedPassword");
+        when(passwordHasher.encode(userDTO.getPassword())).thenReturn("encodedPassword");
 
         String result = authService.registerUser(userDTO);
 
@@ -95,15 +85,16 @@ public class AuthServiceTest {
         LoginRequestDTO loginRequestDTO = new LoginRequestDTO("test@example.com", "password123");
 
         when(userRepository.findByEmail(loginRequestDTO.getEmail())).thenReturn(Optional.of(testUser));
-        when(passwordEncoder.matches(anyString(), anyString())).thenReturn(true);
+        when(passwordHasher.matches(anyString(), anyString())).thenReturn(true);
         when(jwtUtils.generateToken(anyString())).thenReturn("mocked-jwt-token");
 
-        doNothing().when(emailService).sendEmail(anyString(), anyString(), anyString());
+        doNothing().when(emailOutbox).enqueue(anyString(), anyString(), anyString());
 
         LoginResponseDTO response = authService.loginUser(loginRequestDTO);
 
         assertEquals("Login successful! Check your email for the token.", response.getMessage());
         assertEquals("mocked-jwt-token", response.getToken());
+        verify(emailOutbox, times(1)).enqueue(eq("test@example.com"), anyString(), anyString());
     }
 
     @Test(expected = IllegalArgumentException.class)
@@ -111,7 +102,7 @@ public class AuthServiceTest {
         LoginRequestDTO loginRequestDTO = new LoginRequestDTO("test@example.com", "wrongPassword");
 
         when(userRepository.findByEmail(loginRequestDTO.getEmail())).thenReturn(Optional.of(testUser));
-        when(passwordEncoder.matches(anyString(), anyString())).thenReturn(false);
+        when(passwordHasher.matches(anyString(), anyString())).thenReturn(false);
 
         authService.loginUser(loginRequestDTO);
     }
@@ -130,7 +121,6 @@ public class AuthServiceTest {
         String token = "mocked-jwt-token";
 
         when(jwtUtils.getEmailFromToken(anyString())).thenReturn("test@example.com");
-        when(redisTemplate.opsForValue().get(anyString())).thenReturn(token);
         when(jwtUtils.isTokenValid(anyString(), anyString())).thenReturn(true);
 
         boolean result = authService.loginWithToken(token);
@@ -143,7 +133,7 @@ public class AuthServiceTest {
         String token = "invalid-token";
 
         when(jwtUtils.getEmailFromToken(anyString())).thenReturn("test@example.com");
-        when(redisTemplate.opsForValue().get(anyString())).thenReturn(null);
+        when(jwtUtils.isTokenValid(anyString(), anyString())).thenReturn(false);
 
         authService.loginWithToken(token);
     }
@@ -151,7 +141,7 @@ public class AuthServiceTest {
     @Test
     public void testForgotPassword_Success() throws MessagingException {
         when(userRepository.findByEmail(anyString())).thenReturn(Optional.of(testUser));
-        when(passwordEncoder.encode(anyString())).thenReturn("newEncodedPassword");
+        when(passwordHasher.encode(anyString())).thenReturn("newEncodedPassword");
 
         boolean result = authService.forgotPassword(testUser.getEmail(), "newPassword");
 
@@ -172,8 +162,8 @@ public class AuthServiceTest {
     @Test
     public void testResetPassword_Success() {
         when(userRepository.findByEmail(anyString())).thenReturn(Optional.of(testUser));
-        when(passwordEncoder.matches(anyString(), anyString())).thenReturn(true);
-        when(passwordEncoder.encode(anyString())).thenReturn("newEncodedPassword");
+        when(passwordHasher.matches(anyString(), anyString())).thenReturn(true);
+        when(passwordHasher.encode(anyString())).thenReturn("newEncodedPassword");
 
         boolean result = authService.resetPassword(testUser.getEmail(), "oldPassword", "newPassword");
 
@@ -184,8 +174,24 @@ public class AuthServiceTest {
     @Test(expected = IllegalArgumentException.class)
     public void testResetPassword_IncorrectOldPassword() {
         when(userRepository.findByEmail(anyString())).thenReturn(Optional.of(testUser));
-        when(passwordEncoder.matches(anyString(), anyString())).thenReturn(false);
+        when(passwordHasher.matches(anyString(), anyString())).thenReturn(false);
 
         authService.resetPassword(testUser.getEmail(), "wrongOldPassword", "newPassword");
     }
+
+    @Test
+    public void testLoginUser_RehashesPasswordStoredWithOldCost() throws MessagingException {
+        LoginRequestDTO loginRequestDTO = new LoginRequestDTO("test@example.com", "password123");
+
+        when(userRepository.findByEmail(loginRequestDTO.getEmail())).thenReturn(Optional.of(testUser));
+        when(passwordHasher.matches(anyString(), anyString())).thenReturn(true);
+        when(passwordHasher.upgradeEncoding("encodedPassword")).thenReturn(true);
+        when(passwordHasher.encode("password123")).thenReturn("rehashedPassword");
+        when(jwtUtils.generateToken(anyString())).thenReturn("mocked-jwt-token");
+
+        authService.loginUser(loginRequestDTO);
+
+        assertEquals("rehashedPassword", testUser.getPassword());
+        verify(userRepository, times(1)).save(testUser);
+    }
 }
@@ -0,0 +1,108 @@
+package com.AddressBookAppMain.AddressBook.Service;
+
+import com.AddressBookAppMain.AddressBook.Services.CacheStampedeGuard;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class CacheStampedeGuardTest {
+
+    private CacheStampedeGuard guard;
+
+    @Before
+    public void setUp() {
+        // Zero lease time keeps the guard on this node, so no Redis is needed
+        guard = new CacheStampedeGuard(null, new SimpleMeterRegistry(), Duration.ZERO, Duration.ofSeconds(5), 1.0);
+    }
+
+    @Test
+    public void testLoad_ConcurrentMissesShareOneLoad() throws Exception {
+        int callers = 8;
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(callers);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            results.add(pool.submit(() -> guard.load("AddressBook:Contact:1", () -> null, () -> {
+                loads.incrementAndGet();
+                loading.countDown();
+                await(release);
+                return "Alice";
+            })));
+            assertTrue(loading.await(5, TimeUnit.SECONDS));
+            for (int i = 1; i < callers; i++) {
+                results.add(pool.submit(() -> guard.load("AddressBook:Contact:1", () -> null, () -> {
+                    loads.incrementAndGet();
+                    return "Alice";
+                })));
+            }
+            // Give the followers time to join the in-flight load before it completes
+            Thread.sleep(100);
+            release.countDown();
+
+            for (Future<String> result : results) {
+                assertEquals("Alice", result.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, loads.get());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testLoad_NextMissAfterCompletionLoadsAgain() {
+        AtomicInteger loads = new AtomicInteger();
+
+        guard.load("AddressBook:Contact:2", () -> null, loads::incrementAndGet);
+        guard.load("AddressBook:Contact:2", () -> null, loads::incrementAndGet);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void testShouldRefreshEarly_OnlyOnceTheFamilyHasALoadTime() {
+        assertFalse(guard.shouldRefreshEarly("AddressBook:Contact:3", 1));
+
+        guard.load("AddressBook:Contact:3", () -> null, () -> {
+            sleep(20);
+            return "Carol";
+        });
+
+        // A key about to expire gets refreshed, one with its full TTL left practically never
+        boolean refreshedNearExpiry = false;
+        for (int i = 0; i < 20 && !refreshedNearExpiry; i++) {
+            refreshedNearExpiry = guard.shouldRefreshEarly("AddressBook:Contact:4", 1);
+        }
+        assertTrue(refreshedNearExpiry);
+        assertFalse(guard.shouldRefreshEarly("AddressBook:Contact:4", Duration.ofMinutes(10).toMillis()));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.AddressBookAppMain.AddressBook.Service;
+
+import com.AddressBookAppMain.AddressBook.Entity.AddressBook;
+import com.AddressBookAppMain.AddressBook.Repository.AddressBookRepository;
+import com.AddressBookAppMain.AddressBook.Services.ContactExportService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.Silent.class)
+public class ContactExportServiceTest {
+
+    @Mock
+    private AddressBookRepository addressBookRepository;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @Mock
+    private EntityManager entityManager;
+
+    @InjectMocks
+    private ContactExportService exportService;
+
+    private static AddressBook contact(int id, String name, String address) {
+        AddressBook contact = new AddressBook();
+        contact.setId(id);
+        contact.setName(name);
+        contact.setPhone("9876543210");
+        contact.setAddress(address);
+        return contact;
+    }
+
+    @Test
+    public void testExportNdjson_StreamsOneLinePerContactAndDetachesEach() throws IOException {
+        AddressBook alice = contact(1, "Alice", "Pune");
+        AddressBook bob = contact(2, "Bob", "Mumbai");
+        AtomicBoolean closed = new AtomicBoolean();
+        when(addressBookRepository.streamAllByOrderByIdAsc()).thenReturn(Stream.of(alice, bob).onClose(() -> closed.set(true)));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long count = exportService.exportContacts(out, ContactExportService.ExportFormat.NDJSON);
+
+        assertEquals(2, count);
+        assertEquals("{\"id\":1,\"name\":\"Alice\",\"phone\":\"9876543210\",\"address\":\"Pune\"}\n"
+                        + "{\"id\":2,\"name\":\"Bob\",\"phone\":\"9876543210\",\"address\":\"Mumbai\"}\n",
+                out.toString(StandardCharsets.UTF_8));
+        // Each row leaves the persistence context once written, and the cursor is released
+        verify(entityManager).detach(alice);
+        verify(entityManager).detach(bob);
+        assertTrue(closed.get());
+    }
+
+    @Test
+    public void testExportCsv_QuotesOnlyFieldsThatNeedIt() throws IOException {
+        AddressBook contact = contact(3, "Carol \"CJ\" Dsouza", "12 Baker Street, Pune");
+        when(addressBookRepository.streamAllByOrderByIdAsc()).thenReturn(Stream.of(contact));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        exportService.exportContacts(out, ContactExportService.ExportFormat.CSV);
+
+        assertEquals("id,name,phone,address\n3,\"Carol \"\"CJ\"\" Dsouza\",9876543210,\"12 Baker Street, Pune\"\n",
+                out.toString(StandardCharsets.UTF_8));
+        verify(entityManager).detach(contact);
+    }
+}
@@ -0,0 +1,116 @@
+package com.AddressBookAppMain.AddressBook.Service;
+
+import com.AddressBookAppMain.AddressBook.Entity.AddressBook;
+import com.AddressBookAppMain.AddressBook.Repository.AddressBookRepository;
+import com.AddressBookAppMain.AddressBook.Services.ContactPhoneIndex;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.Silent.class)
+public class ContactPhoneIndexTest {
+
+    @Mock
+    private AddressBookRepository addressBookRepository;
+
+    @Mock
+    private StringRedisTemplate stringRedisTemplate;
+
+    @InjectMocks
+    private ContactPhoneIndex phoneIndex;
+
+    @Before
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(addressBookRepository.findFirstByPhoneOrderByIdDesc(anyString())).thenReturn(Optional.empty());
+    }
+
+    @Test
+    public void testLookup_FindsOwnerOfNumber() {
+        phoneIndex.put("9876543210", 42);
+        phoneIndex.put("0000000001", 7);
+
+        assertEquals(42, phoneIndex.lookup("9876543210").getAsInt());
+        assertEquals(7, phoneIndex.lookup("0000000001").getAsInt());
+        assertFalse(phoneIndex.lookup("1111111111").isPresent());
+        assertFalse(phoneIndex.lookup("not-a-phone").isPresent());
+    }
+
+    @Test
+    public void testReplace_MovesContactToNewNumber() {
+        phoneIndex.put("9876543210", 42);
+
+        phoneIndex.replace("9876543210", "9123456780", 42);
+
+        assertFalse(phoneIndex.lookup("9876543210").isPresent());
+        assertEquals(42, phoneIndex.lookup("9123456780").getAsInt());
+    }
+
+    @Test
+    public void testRemove_HandsSharedNumberToRemainingContact() {
+        AddressBook other = new AddressBook();
+        other.setId(11);
+        other.setPhone("9876543210");
+        phoneIndex.put("9876543210", 42);
+        when(addressBookRepository.findFirstByPhoneOrderByIdDesc("9876543210")).thenReturn(Optional.of(other));
+
+        phoneIndex.remove("9876543210", 42);
+
+        assertEquals(11, phoneIndex.lookup("9876543210").getAsInt());
+    }
+
+    @Test
+    public void testManyEntries_SurviveResizeAndDeletes() {
+        for (int i = 0; i < 50_000; i++) {
+            phoneIndex.put(String.format("9%09d", i), i);
+        }
+        for (int i = 0; i < 50_000; i += 2) {
+            phoneIndex.remove(String.format("9%09d", i), i);
+        }
+        for (int i = 0; i < 50_000; i++) {
+            assertEquals(i % 2 == 1, phoneIndex.lookup(String.format("9%09d", i)).isPresent());
+        }
+    }
+
+    @Test
+    public void testPutAndRemove_AreBroadcastToOtherNodes() {
+        phoneIndex.put("9876543210", 42);
+        phoneIndex.remove("9876543210", 42);
+        phoneIndex.remove("9876543210", 42);
+
+        verify(stringRedisTemplate, times(1)).convertAndSend(eq(ContactPhoneIndex.CHANGE_CHANNEL), endsWith(":put:9876543210:42"));
+        // The second remove found nothing to drop and stays local
+        verify(stringRedisTemplate, times(1)).convertAndSend(eq(ContactPhoneIndex.CHANGE_CHANNEL), endsWith(":remove:9876543210:42"));
+    }
+
+    @Test
+    public void testOnMessage_AppliesChangesFromOtherNodes() {
+        phoneIndex.onMessage(message("other-node:put:9876543210:42"), null);
+        assertEquals(42, phoneIndex.lookup("9876543210").getAsInt());
+
+        // A remove for a number now owned by someone else is ignored
+        phoneIndex.onMessage(message("other-node:remove:9876543210:7"), null);
+        assertEquals(42, phoneIndex.lookup("9876543210").getAsInt());
+
+        phoneIndex.onMessage(message("other-node:remove:9876543210:42"), null);
+        assertFalse(phoneIndex.lookup("9876543210").isPresent());
+        verify(stringRedisTemplate, never()).convertAndSend(anyString(), anyString());
+        verify(addressBookRepository, never()).findFirstByPhoneOrderByIdDesc(anyString());
+    }
+
+    private static DefaultMessage message(String body) {
+        return new DefaultMessage(ContactPhoneIndex.CHANGE_CHANNEL.getBytes(StandardCharsets.UTF_8), body.getBytes(StandardCharsets.UTF_8));
+    }
+}
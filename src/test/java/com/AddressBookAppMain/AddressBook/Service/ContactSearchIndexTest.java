@@ -0,0 +1,131 @@
+package com.AddressBookAppMain.AddressBook.Service;
+
+import com.AddressBookAppMain.AddressBook.Entity.AddressBook;
+import com.AddressBookAppMain.AddressBook.Repository.AddressBookRepository;
+import com.AddressBookAppMain.AddressBook.Services.ContactSearchIndex;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.Silent.class)
+public class ContactSearchIndexTest {
+
+    @Mock
+    private AddressBookRepository addressBookRepository;
+
+    @Mock
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @InjectMocks
+    private ContactSearchIndex index;
+
+    @Before
+    public void setUp() {
+        index.index(contact(1, "Alice Sharma", "12 Baker Street, Pune"));
+        index.index(contact(2, "Bob Baker", "7 MG Road, Mumbai"));
+        index.index(contact(3, "Carol Dsouza", "Bakery Lane, Pune"));
+    }
+
+    private static AddressBook contact(int id, String name, String address) {
+        AddressBook contact = new AddressBook();
+        contact.setId(id);
+        contact.setName(name);
+        contact.setAddress(address);
+        return contact;
+    }
+
+    @Test
+    public void testSearch_RanksNameMatchesAboveAddressMatches() {
+        List<Integer> result = index.search("baker", 10);
+
+        // Exact name hit, exact address hit, then substring hit in "bakery"
+        assertEquals(Arrays.asList(2, 1, 3), result);
+    }
+
+    @Test
+    public void testSearch_MatchesSubstringsThroughTrigrams() {
+        assertEquals(Arrays.asList(3), index.search("souz", 10));
+    }
+
+    @Test
+    public void testSearch_RequiresEveryQueryToken() {
+        assertEquals(Arrays.asList(1), index.search("alice pune", 10));
+        assertTrue(index.search("alice mumbai", 10).isEmpty());
+    }
+
+    @Test
+    public void testIndex_ReplacesPreviousValuesOnUpdate() {
+        index.index(contact(2, "Bob Fernandes", "7 MG Road, Mumbai"));
+
+        assertFalse(index.search("baker", 10).contains(2));
+        assertEquals(Arrays.asList(2), index.search("fernandes", 10));
+    }
+
+    @Test
+    public void testRemove_DropsContactFromResults() {
+        index.remove(1);
+
+        assertTrue(index.search("alice", 10).isEmpty());
+    }
+
+    @Test
+    public void testIndexAndRemove_AreBroadcastToOtherNodes() {
+        clearInvocations(stringRedisTemplate);
+        index.index(contact(4, "Dave: Senior", "Pune"));
+        index.remove(4);
+
+        verify(stringRedisTemplate, times(1)).convertAndSend(eq(ContactSearchIndex.CHANGE_CHANNEL), contains(":index:{"));
+        verify(stringRedisTemplate, times(1)).convertAndSend(eq(ContactSearchIndex.CHANGE_CHANNEL), endsWith(":remove:4"));
+    }
+
+    @Test
+    public void testOnMessage_AppliesChangesFromOtherNodes() {
+        clearInvocations(stringRedisTemplate);
+        index.onMessage(message("other-node:index:{\"id\":2,\"name\":\"Bob Fernandes\",\"address\":\"7 MG Road: Mumbai\"}"), null);
+        assertFalse(index.search("baker", 10).contains(2));
+        assertEquals(Arrays.asList(2), index.search("fernandes", 10));
+
+        index.onMessage(message("other-node:remove:2"), null);
+        assertTrue(index.search("fernandes", 10).isEmpty());
+        verify(stringRedisTemplate, never()).convertAndSend(anyString(), anyString());
+    }
+
+    private static DefaultMessage message(String body) {
+        return new DefaultMessage(ContactSearchIndex.CHANGE_CHANNEL.getBytes(StandardCharsets.UTF_8), body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testBuildIndex_ReadyOnlyOnceEveryPageIsLoaded() {
+        assertFalse(index.isReady());
+        when(addressBookRepository.findByIdGreaterThanOrderByIdAsc(eq(0), any(Pageable.class)))
+                .thenAnswer(invocation -> {
+                    // Still loading; searches must not be served from the partial index yet
+                    assertFalse(index.isReady());
+                    return List.of(contact(4, "Dave Baker", "Nashik"));
+                });
+
+        index.buildIndex();
+
+        assertTrue(index.isReady());
+        assertEquals(Arrays.asList(2, 4, 1, 3), index.search("baker", 10));
+    }
+}
@@ -0,0 +1,65 @@
+package com.AddressBookAppMain.AddressBook.Service;
+
+import com.AddressBookAppMain.AddressBook.DTO.EmailJobDTO;
+import com.AddressBookAppMain.AddressBook.Services.EmailService;
+import com.AddressBookAppMain.AddressBook.Services.SmtpTransportPool;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Session;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.mail.javamail.JavaMailSender;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.Silent.class)
+public class EmailServiceTest {
+
+    @Mock
+    private JavaMailSender mailSender;
+
+    @Mock
+    private SmtpTransportPool transportPool;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private EmailService emailService;
+
+    @Before
+    public void setUp() {
+        Session session = Session.getInstance(new Properties());
+        when(mailSender.createMimeMessage()).thenAnswer(invocation -> new MimeMessage(session));
+        meterRegistry = new SimpleMeterRegistry();
+        emailService = new EmailService(mailSender, transportPool, meterRegistry);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testSendBatch_ReturnsJobsOfFailedMessages() throws MessagingException {
+        EmailJobDTO alice = new EmailJobDTO("alice@test.com", "Hi", "Hello Alice");
+        EmailJobDTO bob = new EmailJobDTO("bob@test.com", "Hi", "Hello Bob");
+        EmailJobDTO carol = new EmailJobDTO("carol@test.com", "Hi", "Hello Carol");
+        // The pool could not deliver the second message
+        when(transportPool.sendAll(anyList(), anyList())).thenAnswer(invocation -> {
+            List<MimeMessage> messages = invocation.getArgument(0);
+            invocation.<List<MessagingException>>getArgument(1).add(new MessagingException("Connection reset"));
+            return List.of(messages.get(1));
+        });
+
+        List<EmailJobDTO> failed = emailService.sendBatch(Arrays.asList(alice, bob, carol));
+
+        assertEquals(List.of(bob), failed);
+        assertEquals(1.0, meterRegistry.get("addressbook.email.batch.failures").counter().count(), 0.0);
+        verify(transportPool, times(1)).sendAll(argThat(messages -> messages.size() == 3), anyList());
+    }
+}
@@ -0,0 +1,111 @@
+package com.AddressBookAppMain.AddressBook.Service;
+
+import com.AddressBookAppMain.AddressBook.DTO.EmailJobDTO;
+import com.AddressBookAppMain.AddressBook.Security.RabbitMQConfig;
+import com.AddressBookAppMain.AddressBook.Services.EmailService;
+import com.AddressBookAppMain.AddressBook.Services.EmailWorker;
+import com.AddressBookAppMain.AddressBook.Services.RabbitMQProducer;
+import jakarta.mail.MessagingException;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.Silent.class)
+public class EmailWorkerTest {
+
+    @Mock
+    private EmailService emailService;
+
+    @Mock
+    private RabbitMQProducer rabbitMQProducer;
+
+    @Spy
+    private Jackson2JsonMessageConverter emailMessageConverter = new Jackson2JsonMessageConverter();
+
+    @InjectMocks
+    private EmailWorker emailWorker;
+
+    @Before
+    public void setUp() {
+        ReflectionTestUtils.setField(emailWorker, "maxAttempts", 3);
+    }
+
+    // The job as EmailOutbox queues it, with the attempt header retries carry
+    private Message queued(EmailJobDTO job, Integer attempt) {
+        MessageProperties properties = new MessageProperties();
+        if (attempt != null) {
+            properties.setHeader("x-attempt", attempt);
+        }
+        return new Jackson2JsonMessageConverter().toMessage(job, properties);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testSendQueuedEmails_OneBatchAndOnlyFailuresRetried() throws MessagingException {
+        EmailJobDTO alice = new EmailJobDTO("alice@test.com", "Hi", "Hello Alice");
+        EmailJobDTO bob = new EmailJobDTO("bob@test.com", "Hi", "Hello Bob");
+        Message bobMessage = queued(bob, 2);
+        when(emailService.sendBatch(anyList())).thenAnswer(invocation -> List.of(invocation.<List<EmailJobDTO>>getArgument(0).get(1)));
+
+        emailWorker.sendQueuedEmails(List.of(queued(alice, null), bobMessage));
+
+        verify(emailService, times(1)).sendBatch(List.of(alice, bob));
+        verify(emailService, never()).sendEmail(any(), any(), any());
+        verify(rabbitMQProducer, times(1)).republish(RabbitMQConfig.EMAIL_RETRY_QUEUE, bobMessage, Map.of("x-attempt", 3));
+        verifyNoMoreInteractions(rabbitMQProducer);
+    }
+
+    @Test
+    public void testSendQueuedEmails_LastAttemptParkedOnDeadLetterQueue() throws MessagingException {
+        EmailJobDTO carol = new EmailJobDTO("carol@test.com", "Hi", "Hello Carol");
+        Message carolMessage = queued(carol, 3);
+        // sendBatch hands back the job objects it was given
+        when(emailService.sendBatch(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        emailWorker.sendQueuedEmails(List.of(carolMessage));
+
+        verify(rabbitMQProducer, times(1)).republish(RabbitMQConfig.EMAIL_DEAD_LETTER_QUEUE, carolMessage, Map.of());
+        verify(rabbitMQProducer, never()).republish(eq(RabbitMQConfig.EMAIL_RETRY_QUEUE), any(), any());
+    }
+
+    @Test
+    public void testSendQueuedEmails_FailedBatchRetriesEveryJob() throws MessagingException {
+        Message alice = queued(new EmailJobDTO("alice@test.com", "Hi", "Hello Alice"), null);
+        Message bob = queued(new EmailJobDTO("bob@test.com", "Hi", "Hello Bob"), null);
+        when(emailService.sendBatch(anyList())).thenThrow(new MessagingException("Connection refused"));
+
+        emailWorker.sendQueuedEmails(List.of(alice, bob));
+
+        verify(rabbitMQProducer, times(1)).republish(RabbitMQConfig.EMAIL_RETRY_QUEUE, alice, Map.of("x-attempt", 2));
+        verify(rabbitMQProducer, times(1)).republish(RabbitMQConfig.EMAIL_RETRY_QUEUE, bob, Map.of("x-attempt", 2));
+    }
+
+    @Test
+    public void testSendQueuedEmails_UnreadableJobParkedAndRestStillSent() throws MessagingException {
+        EmailJobDTO alice = new EmailJobDTO("alice@test.com", "Hi", "Hello Alice");
+        MessageProperties properties = new MessageProperties();
+        properties.setContentType(MessageProperties.CONTENT_TYPE_JSON);
+        Message garbage = new Message("not json".getBytes(StandardCharsets.UTF_8), properties);
+        when(emailService.sendBatch(anyList())).thenReturn(List.of());
+
+        emailWorker.sendQueuedEmails(List.of(garbage, queued(alice, null)));
+
+        verify(emailService, times(1)).sendBatch(List.of(alice));
+        verify(rabbitMQProducer, times(1)).republish(RabbitMQConfig.EMAIL_DEAD_LETTER_QUEUE, garbage, Map.of());
+    }
+}
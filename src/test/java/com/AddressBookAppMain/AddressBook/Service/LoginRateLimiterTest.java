@@ -0,0 +1,109 @@
+package com.AddressBookAppMain.AddressBook.Service;
+
+import com.AddressBookAppMain.AddressBook.Exception.RateLimitExceededException;
+import com.AddressBookAppMain.AddressBook.Security.LoginRateLimiter;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.Silent.class)
+@SuppressWarnings("unchecked")
+public class LoginRateLimiterTest {
+
+    @Mock
+    private StringRedisTemplate stringRedisTemplate;
+
+    private LoginRateLimiter rateLimiter;
+
+    @Before
+    public void setUp() {
+        // One login per email per minute, plenty per IP
+        rateLimiter = new LoginRateLimiter(stringRedisTemplate, 1, 1, 100, 100);
+    }
+
+    private void redisReplies(long allowed, long retryAfterMs) {
+        when(stringRedisTemplate.execute(any(RedisScript.class), anyList(), anyString(), anyString()))
+                .thenReturn(List.of(allowed, retryAfterMs));
+    }
+
+    private long retryAfterOf(Runnable check) {
+        try {
+            check.run();
+        } catch (RateLimitExceededException e) {
+            return e.getRetryAfterSeconds();
+        }
+        fail("Expected the request to be rate limited");
+        return -1;
+    }
+
+    @Test
+    public void testCheckLogin_PassesBucketSettingsToScript() {
+        redisReplies(1, 0);
+
+        rateLimiter.checkLogin(" Alice@Test.com ", "203.0.113.7");
+
+        // Capacity and the refill rate in tokens per ms, written out without an exponent for tonumber()
+        verify(stringRedisTemplate).execute(any(RedisScript.class), eq(List.of("RateLimit:login:ip:203.0.113.7")), eq("100"), eq("0.0016666666666666668"));
+        verify(stringRedisTemplate).execute(any(RedisScript.class), eq(List.of("RateLimit:login:email:alice@test.com")), eq("1"), eq("0.000016666666666666667"));
+    }
+
+    @Test
+    public void testCheckLogin_EmptyLocalBucketRejectsWithoutRedis() {
+        redisReplies(1, 0);
+        rateLimiter.checkLogin("alice@test.com", "203.0.113.7");
+
+        long retryAfter = retryAfterOf(() -> rateLimiter.checkLogin("alice@test.com", "203.0.113.7"));
+
+        // A token comes back after a minute
+        assertEquals(60, retryAfter);
+        // IP and email on the first call, only the IP on the second
+        verify(stringRedisTemplate, times(3)).execute(any(RedisScript.class), anyList(), anyString(), anyString());
+    }
+
+    @Test
+    public void testCheckLogin_RejectedWhenScriptDenies() {
+        // Another node has used up the shared bucket
+        redisReplies(0, 1500);
+
+        long retryAfter = retryAfterOf(() -> rateLimiter.checkLogin("alice@test.com", "203.0.113.7"));
+
+        assertEquals(2, retryAfter);
+    }
+
+    @Test
+    public void testCheckLogin_RetryAfterRoundsUpToWholeSeconds() {
+        redisReplies(0, 1);
+        assertEquals(1, retryAfterOf(() -> rateLimiter.checkLogin("a@test.com", "203.0.113.1")));
+
+        redisReplies(0, 0);
+        assertEquals(1, retryAfterOf(() -> rateLimiter.checkLogin("b@test.com", "203.0.113.2")));
+
+        redisReplies(0, 2000);
+        assertEquals(2, retryAfterOf(() -> rateLimiter.checkLogin("c@test.com", "203.0.113.3")));
+
+        redisReplies(0, 2001);
+        assertEquals(3, retryAfterOf(() -> rateLimiter.checkLogin("d@test.com", "203.0.113.4")));
+    }
+
+    @Test
+    public void testCheckPasswordReset_FailsOpenWhenRedisIsDown() {
+        when(stringRedisTemplate.execute(any(RedisScript.class), anyList(), anyString(), anyString()))
+                .thenThrow(new RedisConnectionFailureException("Connection refused"));
+
+        rateLimiter.checkPasswordReset("alice@test.com", "203.0.113.7");
+
+        // The local bucket still applies
+        assertEquals(60, retryAfterOf(() -> rateLimiter.checkPasswordReset("alice@test.com", "203.0.113.7")));
+    }
+}
@@ -0,0 +1,98 @@
+package com.AddressBookAppMain.AddressBook.Service;
+
+import com.AddressBookAppMain.AddressBook.DTO.ContactChangeDTO;
+import com.AddressBookAppMain.AddressBook.Entity.AddressBook;
+import com.AddressBookAppMain.AddressBook.Repository.AddressBookRepository;
+import com.AddressBookAppMain.AddressBook.Security.RabbitMQConfig;
+import com.AddressBookAppMain.AddressBook.Services.RabbitMQConsumer;
+import com.AddressBookAppMain.AddressBook.Services.RabbitMQProducer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class RabbitMQConsumerTest {
+
+    @Mock
+    private AddressBookRepository addressBookRepository;
+
+    @Mock
+    private RabbitMQProducer rabbitMQProducer;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @InjectMocks
+    private RabbitMQConsumer rabbitMQConsumer;
+
+    private Message change(int id, String name) throws Exception {
+        MessageProperties properties = new MessageProperties();
+        properties.setContentType(MessageProperties.CONTENT_TYPE_JSON);
+        return new Message(objectMapper.writeValueAsBytes(new ContactChangeDTO(id, name, "9876543210", "Pune")), properties);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testFlushContactChanges_CoalescesToLastChangePerContact() throws Exception {
+        rabbitMQConsumer.flushContactChanges(Arrays.asList(change(1, "Alice"), change(2, "Bob"), change(1, "Alicia")));
+
+        ArgumentCaptor<List<AddressBook>> flushed = ArgumentCaptor.forClass(List.class);
+        verify(addressBookRepository, times(1)).batchUpdate(flushed.capture());
+        assertEquals(2, flushed.getValue().size());
+        assertEquals("Alicia", flushed.getValue().get(0).getName());
+        assertEquals("Bob", flushed.getValue().get(1).getName());
+    }
+
+    @Test
+    public void testFlushContactChanges_UnreadableRecordIsDeadLettered() throws Exception {
+        MessageProperties properties = new MessageProperties();
+        properties.setContentType(MessageProperties.CONTENT_TYPE_TEXT_PLAIN);
+        Message unreadable = new Message("hello".getBytes(StandardCharsets.UTF_8), properties);
+
+        rabbitMQConsumer.flushContactChanges(List.of(unreadable, change(2, "Bob")));
+
+        verify(rabbitMQProducer, times(1))
+                .republish(eq(RabbitMQConfig.CONTACT_CHANGES_DEAD_LETTER_QUEUE), eq(unreadable), anyMap());
+        verify(addressBookRepository, times(1)).batchUpdate(anyList());
+    }
+
+    @Test
+    public void testFlushContactChanges_RejectedBatchParksOnlyTheBadRecord() throws Exception {
+        Message good = change(1, "Alice");
+        Message bad = change(2, "Bob");
+        doAnswer(invocation -> {
+            List<AddressBook> contacts = invocation.getArgument(0);
+            if (contacts.stream().anyMatch(c -> c.getId() == 2)) {
+                throw new DataIntegrityViolationException("Data too long for column 'name'");
+            }
+            return null;
+        }).when(addressBookRepository).batchUpdate(anyList());
+
+        rabbitMQConsumer.flushContactChanges(Arrays.asList(good, bad));
+
+        // The whole batch, then each record on its own
+        verify(addressBookRepository, times(3)).batchUpdate(anyList());
+        verify(rabbitMQProducer, times(1))
+                .republish(eq(RabbitMQConfig.CONTACT_CHANGES_DEAD_LETTER_QUEUE), eq(bad), anyMap());
+        verify(rabbitMQProducer, never()).republish(any(), eq(good), anyMap());
+    }
+}
@@ -0,0 +1,135 @@
+package com.AddressBookAppMain.AddressBook.Service;
+
+import com.AddressBookAppMain.AddressBook.Services.SmtpTransportPool;
+import jakarta.mail.Address;
+import jakarta.mail.Message;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Provider;
+import jakarta.mail.Session;
+import jakarta.mail.Transport;
+import jakarta.mail.URLName;
+import jakarta.mail.internet.InternetAddress;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class SmtpTransportPoolTest {
+
+    // Connections opened by the pool, in order; FakeTransport is created by jakarta.mail through reflection
+    private static final List<FakeTransport> opened = new ArrayList<>();
+    private static final Set<String> dropOn = new HashSet<>();
+    private static int connectsAllowed;
+
+    private JavaMailSenderImpl mailSender;
+
+    @Before
+    public void setUp() {
+        opened.clear();
+        dropOn.clear();
+        connectsAllowed = Integer.MAX_VALUE;
+        mailSender = new JavaMailSenderImpl();
+        mailSender.setProtocol("fake");
+        mailSender.setHost("smtp.test");
+        mailSender.getSession().addProvider(new Provider(Provider.Type.TRANSPORT, "fake", FakeTransport.class.getName(), "test", "1"));
+    }
+
+    private MimeMessage message(String to) throws MessagingException {
+        MimeMessage message = new MimeMessage(mailSender.getSession());
+        message.setRecipient(Message.RecipientType.TO, new InternetAddress(to));
+        message.setSubject("Hello");
+        message.setText("Hello");
+        return message;
+    }
+
+    @Test
+    public void testSendAll_ReconnectsAfterDroppedConnection() throws MessagingException {
+        SmtpTransportPool pool = new SmtpTransportPool(mailSender, 1, 100);
+        dropOn.add("b@test.com");
+        List<MimeMessage> messages = Arrays.asList(message("a@test.com"), message("b@test.com"), message("c@test.com"));
+        List<MessagingException> errors = new ArrayList<>();
+
+        List<MimeMessage> failed = pool.sendAll(messages, errors);
+
+        assertEquals(List.of(messages.get(1)), failed);
+        assertEquals(1, errors.size());
+        assertEquals(2, opened.size());
+        assertEquals(List.of("a@test.com"), opened.get(0).delivered);
+        assertEquals(List.of("c@test.com"), opened.get(1).delivered);
+    }
+
+    @Test
+    public void testSendAll_ConnectFailureFailsRestOfBatch() throws MessagingException {
+        SmtpTransportPool pool = new SmtpTransportPool(mailSender, 1, 1);
+        connectsAllowed = 1;
+        List<MimeMessage> messages = Arrays.asList(message("a@test.com"), message("b@test.com"), message("c@test.com"));
+        List<MessagingException> errors = new ArrayList<>();
+
+        List<MimeMessage> failed = pool.sendAll(messages, errors);
+
+        assertEquals(messages.subList(1, 3), failed);
+        assertEquals(2, errors.size());
+        assertEquals(List.of("a@test.com"), opened.get(0).delivered);
+        assertFalse(opened.get(0).isConnected());
+
+        // The permit came back, so the pool still works once the server is reachable again
+        connectsAllowed = Integer.MAX_VALUE;
+        assertTrue(pool.sendAll(List.of(message("d@test.com")), errors).isEmpty());
+    }
+
+    @Test
+    public void testSendAll_RotatesConnectionAfterMaxMessages() throws MessagingException {
+        SmtpTransportPool pool = new SmtpTransportPool(mailSender, 1, 2);
+        List<MimeMessage> messages = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            messages.add(message("user" + i + "@test.com"));
+        }
+
+        assertTrue(pool.sendAll(messages, new ArrayList<>()).isEmpty());
+
+        assertEquals(3, opened.size());
+        assertEquals(2, opened.get(0).delivered.size());
+        assertEquals(2, opened.get(1).delivered.size());
+        assertEquals(1, opened.get(2).delivered.size());
+        assertFalse(opened.get(0).isConnected());
+        assertFalse(opened.get(1).isConnected());
+        // The last one stays open in the pool for the next batch
+        assertTrue(opened.get(2).isConnected());
+    }
+
+    public static class FakeTransport extends Transport {
+
+        private final List<String> delivered = new ArrayList<>();
+
+        public FakeTransport(Session session, URLName urlName) {
+            super(session, urlName);
+        }
+
+        @Override
+        protected boolean protocolConnect(String host, int port, String user, String password) throws MessagingException {
+            if (connectsAllowed-- <= 0) {
+                throw new MessagingException("Connection refused");
+            }
+            opened.add(this);
+            return true;
+        }
+
+        @Override
+        public void sendMessage(Message message, Address[] addresses) throws MessagingException {
+            String to = addresses[0].toString();
+            if (dropOn.contains(to)) {
+                setConnected(false);
+                throw new MessagingException("Connection reset while sending to " + to);
+            }
+            delivered.add(to);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.AddressBookAppMain.AddressBook.Service;
+
+import com.AddressBookAppMain.AddressBook.Interfaces.IAddressBookService;
+import com.AddressBookAppMain.AddressBook.Security.JwtUtil;
+import com.AddressBookAppMain.AddressBook.Services.ContactPhoneIndex;
+import com.AddressBookAppMain.AddressBook.Services.ContactSearchIndex;
+import com.AddressBookAppMain.AddressBook.Services.StartupWarmup;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.boot.DefaultApplicationArguments;
+import org.springframework.core.env.Environment;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.Silent.class)
+public class StartupWarmupTest {
+
+    @Mock
+    private IAddressBookService addressBookService;
+
+    @Mock
+    private ContactSearchIndex contactSearchIndex;
+
+    @Mock
+    private ContactPhoneIndex contactPhoneIndex;
+
+    @Mock
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    @Mock
+    private JwtUtil jwtUtil;
+
+    @Mock
+    private Environment environment;
+
+    @InjectMocks
+    private StartupWarmup startupWarmup;
+
+    @Test
+    public void testRun_BuildsIndexesBeforeWarmingCaches() {
+        ReflectionTestUtils.setField(startupWarmup, "enabled", true);
+        ReflectionTestUtils.setField(startupWarmup, "hotContacts", 10);
+        ReflectionTestUtils.setField(startupWarmup, "maxDuration", Duration.ofSeconds(1));
+        when(stringRedisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.get(anyString())).thenReturn("1,2");
+
+        startupWarmup.run(new DefaultApplicationArguments());
+
+        InOrder order = inOrder(contactSearchIndex, contactPhoneIndex, addressBookService);
+        order.verify(contactSearchIndex).buildIndex();
+        order.verify(contactPhoneIndex).buildIndex();
+        order.verify(addressBookService).getContactsByIds(List.of(1, 2));
+    }
+
+    @Test
+    public void testRun_BuildsIndexesWithWarmupDisabled() {
+        startupWarmup.run(new DefaultApplicationArguments());
+
+        verify(contactSearchIndex).buildIndex();
+        verify(contactPhoneIndex).buildIndex();
+        verifyNoInteractions(addressBookService, jwtUtil);
+    }
+
+    @Test
+    public void testRun_FailedIndexBuildKeepsNodeFromStarting() {
+        doThrow(new IllegalStateException("Connection refused")).when(contactSearchIndex).buildIndex();
+
+        try {
+            startupWarmup.run(new DefaultApplicationArguments());
+            fail("Expected the failed build to propagate");
+        } catch (IllegalStateException e) {
+            assertEquals("Connection refused", e.getMessage());
+        }
+        verify(contactPhoneIndex, never()).buildIndex();
+    }
+}